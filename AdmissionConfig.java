@@ -0,0 +1,36 @@
+package com.example.taskmanager.config;
+
+import com.example.taskmanager.ratelimit.AdmissionController;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-client, per-tenant and per-endpoint admission control ({@code taskmanager.admission.*}).
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "taskmanager.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig {
+
+    @Bean
+    public AdmissionController admissionController(
+            MeterRegistry registry,
+            ObjectMapper mapper,
+            @Value("${taskmanager.admission.client-rate:50}") double clientRate,
+            @Value("${taskmanager.admission.client-burst:100}") int clientBurst,
+            @Value("${taskmanager.admission.tenant-rate:500}") double tenantRate,
+            @Value("${taskmanager.admission.tenant-burst:1000}") int tenantBurst,
+            @Value("${taskmanager.admission.endpoint-rate:2000}") double endpointRate,
+            @Value("${taskmanager.admission.endpoint-burst:4000}") int endpointBurst,
+            @Value("${taskmanager.admission.list-cost-unit:100}") int listCostUnit,
+            @Value("${taskmanager.admission.max-page-size:1000}") int maxPageSize,
+            @Value("${taskmanager.admission.max-tracked-clients:100000}") int maxTrackedClients,
+            @Value("${taskmanager.admission.trust-client-id-header:false}") boolean trustClientIdHeader) {
+        return new AdmissionController(new AdmissionController.Limits(clientRate, clientBurst,
+                tenantRate, tenantBurst, endpointRate, endpointBurst, listCostUnit, maxPageSize, maxTrackedClients,
+                trustClientIdHeader), registry, mapper);
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.taskmanager.ratelimit;
+
+import com.example.taskmanager.exception.ErrorResponse;
+import com.example.taskmanager.tenant.TenantContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control in front of the task endpoints.
+ * <p>
+ * Each request is charged against a per-client, a per-tenant and a per-endpoint bucket, so
+ * neither one noisy client nor one busy tenant can starve the others. A request rejected by
+ * one bucket gives back what it took from the others. Clients are told apart by remote
+ * address; {@code X-Client-Id} is only honoured when the limits say it comes from a trusted proxy.
+ * At most {@code maxTrackedClients} client (and tenant) buckets are kept; idle ones are swept
+ * at most once per second, and while the table is full of active ones newcomers share a single
+ * overflow bucket. {@code GET /tasks} costs more for larger pages, and page sizes outside
+ * 1 to the hard cap are refused outright. Rejections are answered here, before the controller or
+ * service run: 429 with {@code Retry-After}, or 400 for an invalid page.
+ */
+public class AdmissionController implements HandlerInterceptor {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Limits limits;
+    private final ObjectMapper mapper;
+    private final LongSupplier nanoClock;
+    private final BucketTable clientBuckets;
+    private final BucketTable tenantBuckets;
+    private final Map<String, TokenBucket> endpointBuckets = new ConcurrentHashMap<>();
+    private final Counter clientRejections;
+    private final Counter tenantRejections;
+    private final Counter endpointRejections;
+    private final Counter pageSizeRejections;
+
+    public AdmissionController(Limits limits, MeterRegistry registry, ObjectMapper mapper) {
+        this(limits, registry, mapper, System::nanoTime);
+    }
+
+    AdmissionController(Limits limits, MeterRegistry registry, ObjectMapper mapper, LongSupplier nanoClock) {
+        this.limits = limits;
+        this.mapper = mapper;
+        this.nanoClock = nanoClock;
+        this.clientBuckets = new BucketTable(limits.clientRate, limits.clientBurst, nanoClock.getAsLong());
+        this.tenantBuckets = new BucketTable(limits.tenantRate, limits.tenantBurst, nanoClock.getAsLong());
+        this.clientRejections = rejections(registry, "client");
+        this.tenantRejections = rejections(registry, "tenant");
+        this.endpointRejections = rejections(registry, "endpoint");
+        this.pageSizeRejections = rejections(registry, "page-size");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+
+        int cost = 1;
+        if ("GET /tasks".equals(endpoint) || "GET /tasks/ready".equals(endpoint)) {
+            int size = intParameter(request, "size", 10);
+            if (size < 1 || size > limits.maxPageSize) {
+                pageSizeRejections.increment();
+                reject(response, HttpStatus.BAD_REQUEST,
+                        "Page size must be between 1 and " + limits.maxPageSize, "size", -1);
+                return false;
+            }
+            if (intParameter(request, "page", 0) < 0) {
+                pageSizeRejections.increment();
+                reject(response, HttpStatus.BAD_REQUEST, "Page must not be negative", "page", -1);
+                return false;
+            }
+            cost += size / limits.listCostUnit;
+        }
+
+        long now = nanoClock.getAsLong();
+        TokenBucket client = clientBuckets.get(clientId(request), now);
+        long wait = client.tryAcquire(cost, now);
+        if (wait > 0) {
+            clientRejections.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Client rate limit exceeded", null, wait);
+            return false;
+        }
+        TokenBucket tenant = tenantBuckets.get(TenantContext.current(), now);
+        wait = tenant.tryAcquire(cost, now);
+        if (wait > 0) {
+            client.release(cost);
+            tenantRejections.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Tenant rate limit exceeded", null, wait);
+            return false;
+        }
+        wait = endpointBuckets.computeIfAbsent(endpoint,
+                key -> new TokenBucket(limits.endpointRate, limits.endpointBurst)).tryAcquire(cost, now);
+        if (wait > 0) {
+            client.release(cost);
+            tenant.release(cost);
+            endpointRejections.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Endpoint rate limit exceeded", null, wait);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of clients currently tracked
+     */
+    public int trackedClients() {
+        return clientBuckets.buckets.size();
+    }
+
+    // A client can put anything in a header, so a fresh value per request would dodge its bucket
+    private String clientId(HttpServletRequest request) {
+        if (limits.trustClientIdHeader) {
+            String header = request.getHeader(CLIENT_ID_HEADER);
+            if (header != null && !header.isEmpty()) {
+                return header;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static int intParameter(HttpServletRequest request, String name, int defaultValue) {
+        String value = request.getParameter(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            // Let the controller report the malformed parameter
+            return defaultValue;
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message, String field,
+                        long waitNanos) throws IOException {
+        response.setStatus(status.value());
+        if (waitNanos > 0) {
+            long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            response.setHeader("Retry-After", Long.toString(seconds));
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        mapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(status.value(), status.getReasonPhrase(), message, field));
+    }
+
+    private static Counter rejections(MeterRegistry registry, String limit) {
+        return Counter.builder("taskmanager.admission.rejected")
+                .description("Requests rejected by admission control")
+                .tag("limit", limit)
+                .register(registry);
+    }
+
+    /**
+     * Buckets keyed by client or tenant, bounded by {@code maxTrackedClients}
+     */
+    private final class BucketTable {
+        final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        final AtomicLong nextSweep;
+        final TokenBucket overflow;
+        final double rate;
+        final int burst;
+
+        BucketTable(double rate, int burst, long now) {
+            this.rate = rate;
+            this.burst = burst;
+            this.overflow = new TokenBucket(rate, burst);
+            this.nextSweep = new AtomicLong(now);
+        }
+
+        TokenBucket get(String key, long now) {
+            TokenBucket bucket = buckets.get(key);
+            if (bucket != null) {
+                return bucket;
+            }
+            if (buckets.size() >= limits.maxTrackedClients) {
+                sweep(now);
+                if (buckets.size() >= limits.maxTrackedClients) {
+                    // Full of active keys: a flood of new ones (scanners, spoofed ids) shares one bucket
+                    return overflow;
+                }
+            }
+            return buckets.computeIfAbsent(key, ignored -> new TokenBucket(rate, burst));
+        }
+
+        // A full bucket behaves exactly like a new one, so idle keys can be forgotten. The scan is
+        // O(n), so one request thread runs it at most once per interval.
+        private void sweep(long now) {
+            long next = nextSweep.get();
+            if (now - next >= 0 && nextSweep.compareAndSet(next, now + SWEEP_INTERVAL_NANOS)) {
+                buckets.values().removeIf(candidate -> candidate.isIdle(now));
+            }
+        }
+    }
+
+    /**
+     * Admission limits ({@code taskmanager.admission.*}).
+     */
+    public static class Limits {
+        final double clientRate;
+        final int clientBurst;
+        final double tenantRate;
+        final int tenantBurst;
+        final double endpointRate;
+        final int endpointBurst;
+        final int listCostUnit;
+        final int maxPageSize;
+        final int maxTrackedClients;
+        final boolean trustClientIdHeader;
+
+        /**
+         * @param clientRate sustained requests per second per client
+         * @param clientBurst bucket size per client
+         * @param tenantRate sustained requests per second per tenant, across its clients
+         * @param tenantBurst bucket size per tenant
+         * @param endpointRate sustained requests per second per endpoint, across clients
+         * @param endpointBurst bucket size per endpoint
+         * @param listCostUnit each this many requested list items cost one extra token
+         * @param maxPageSize largest page size accepted on {@code GET /tasks}
+         * @param maxTrackedClients client (and tenant) buckets kept; past it new keys share one bucket
+         * @param trustClientIdHeader key clients on {@code X-Client-Id} instead of the remote address;
+         *                            only safe behind a proxy that sets the header itself
+         */
+        public Limits(double clientRate, int clientBurst, double tenantRate, int tenantBurst,
+                      double endpointRate, int endpointBurst, int listCostUnit, int maxPageSize,
+                      int maxTrackedClients, boolean trustClientIdHeader) {
+            this.clientRate = clientRate;
+            this.clientBurst = clientBurst;
+            this.tenantRate = tenantRate;
+            this.tenantBurst = tenantBurst;
+            this.endpointRate = endpointRate;
+            this.endpointBurst = endpointBurst;
+            this.listCostUnit = Math.max(1, listCostUnit);
+            this.maxPageSize = maxPageSize;
+            this.maxTrackedClients = maxTrackedClients;
+            this.trustClientIdHeader = trustClientIdHeader;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.taskmanager.ratelimit;
+
+import com.example.taskmanager.tenant.TenantContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControllerTest {
+
+    private SimpleMeterRegistry registry;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        now = 0;
+    }
+
+    @Test
+    void preHandle_withinLimit_shouldAdmit() throws Exception {
+        AdmissionController admission = admission(new AdmissionController.Limits(10, 2, 1000, 1000, 100, 100, 100, 1000, 10, true));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(admission.preHandle(request("GET", "/tasks/{id}", "a"), response, null));
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void preHandle_clientOverLimit_shouldReturn429WithRetryAfter() throws Exception {
+        AdmissionController admission = admission(new AdmissionController.Limits(1, 2, 1000, 1000, 100, 100, 100, 1000, 10, true));
+        admission.preHandle(request("GET", "/tasks/{id}", "a"), new MockHttpServletResponse(), null);
+        admission.preHandle(request("GET", "/tasks/{id}", "a"), new MockHttpServletResponse(), null);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(admission.preHandle(request("GET", "/tasks/{id}", "a"), response, null));
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertEquals("{\"status\":429,\"error\":\"Too Many Requests\",\"message\":\"Client rate limit exceeded\"}",
+                response.getContentAsString());
+        assertTrue(admission.preHandle(request("GET", "/tasks/{id}", "b"), new MockHttpServletResponse(), null));
+        assertEquals(1.0, registry.counter("taskmanager.admission.rejected", "limit", "client").count());
+    }
+
+    @Test
+    void preHandle_endpointOverLimit_shouldRejectAcrossClients() throws Exception {
+        AdmissionController admission = admission(new AdmissionController.Limits(100, 100, 1000, 1000, 1, 1, 100, 1000, 10, true));
+        assertTrue(admission.preHandle(request("POST", "/tasks", "a"), new MockHttpServletResponse(), null));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(admission.preHandle(request("POST", "/tasks", "b"), response, null));
+        assertEquals(429, response.getStatus());
+        assertTrue(admission.preHandle(request("GET", "/tasks/{id}", "b"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void preHandle_largePage_shouldCostMore() throws Exception {
+        AdmissionController admission = admission(new AdmissionController.Limits(1, 5, 1000, 1000, 100, 100, 100, 1000, 10, true));
+        MockHttpServletRequest list = request("GET", "/tasks", "a");
+        list.setParameter("size", "400");
+
+        assertTrue(admission.preHandle(list, new MockHttpServletResponse(), null));
+        assertFalse(admission.preHandle(list, new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void preHandle_pageSizeAboveCap_shouldReturn400() throws Exception {
+        AdmissionController admission = admission(new AdmissionController.Limits(10, 10, 1000, 1000, 100, 100, 100, 1000, 10, true));
+        MockHttpServletRequest list = request("GET", "/tasks", "a");
+        list.setParameter("size", "5000");
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(admission.preHandle(list, response, null));
+        assertEquals(400, response.getStatus());
+        assertNull(response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void preHandle_withoutClientHeader_shouldUseRemoteAddress() throws Exception {
+        AdmissionController admission = admission(new AdmissionController.Limits(1, 1, 1000, 1000, 100, 100, 100, 1000, 10, true));
+        MockHttpServletRequest first = request("GET", "/tasks/{id}", null);
+        first.setRemoteAddr("10.0.0.1");
+        MockHttpServletRequest second = request("GET", "/tasks/{id}", null);
+        second.setRemoteAddr("10.0.0.2");
+
+        assertTrue(admission.preHandle(first, new MockHttpServletResponse(), null));
+        assertTrue(admission.preHandle(second, new MockHttpServletResponse(), null));
+        assertFalse(admission.preHandle(first, new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void preHandle_untrustedClientHeader_shouldUseRemoteAddress() throws Exception {
+        AdmissionController admission = admission(new AdmissionController.Limits(1, 1, 1000, 1000, 100, 100, 100, 1000, 10, false));
+
+        assertTrue(admission.preHandle(request("GET", "/tasks/{id}", "a"), new MockHttpServletResponse(), null));
+        assertFalse(admission.preHandle(request("GET", "/tasks/{id}", "b"), new MockHttpServletResponse(), null));
+        assertEquals(1, admission.trackedClients());
+    }
+
+    @Test
+    void preHandle_endpointOverLimit_shouldNotChargeClient() throws Exception {
+        AdmissionController admission = admission(new AdmissionController.Limits(1, 1, 1000, 1000, 1, 1, 100, 1000, 10, true));
+        assertTrue(admission.preHandle(request("GET", "/tasks/{id}", "a"), new MockHttpServletResponse(), null));
+
+        assertFalse(admission.preHandle(request("GET", "/tasks/{id}", "b"), new MockHttpServletResponse(), null));
+
+        assertTrue(admission.preHandle(request("POST", "/tasks", "b"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void preHandle_tooManyClients_shouldEvictIdleBuckets() throws Exception {
+        AdmissionController admission = admission(new AdmissionController.Limits(10, 10, 1000, 1000, 1000, 1000, 100, 1000, 3, true));
+        for (int i = 0; i < 3; i++) {
+            admission.preHandle(request("GET", "/tasks/{id}", "client-" + i), new MockHttpServletResponse(), null);
+        }
+        now = TimeUnit.SECONDS.toNanos(1);
+
+        admission.preHandle(request("GET", "/tasks/{id}", "client-new"), new MockHttpServletResponse(), null);
+
+        assertEquals(1, admission.trackedClients());
+    }
+
+    @Test
+    void preHandle_tooManyActiveClients_shouldShareOverflowBucket() throws Exception {
+        AdmissionController admission = admission(new AdmissionController.Limits(1, 1, 1000, 1000, 1000, 1000, 100, 1000, 3, true));
+        for (int i = 0; i < 3; i++) {
+            admission.preHandle(request("GET", "/tasks/{id}", "client-" + i), new MockHttpServletResponse(), null);
+        }
+
+        assertTrue(admission.preHandle(request("GET", "/tasks/{id}", "new-1"), new MockHttpServletResponse(), null));
+        assertFalse(admission.preHandle(request("GET", "/tasks/{id}", "new-2"), new MockHttpServletResponse(), null));
+        assertEquals(3, admission.trackedClients());
+    }
+
+    @Test
+    void preHandle_nonPositivePageSizeOrNegativePage_shouldReturn400() throws Exception {
+        AdmissionController admission = admission(new AdmissionController.Limits(10, 10, 1000, 1000, 100, 100, 100, 1000, 10, true));
+        MockHttpServletRequest negativeSize = request("GET", "/tasks", "a");
+        negativeSize.setParameter("size", "-1");
+        MockHttpServletRequest negativePage = request("GET", "/tasks/ready", "a");
+        negativePage.setParameter("page", "-1");
+        MockHttpServletResponse sizeResponse = new MockHttpServletResponse();
+        MockHttpServletResponse pageResponse = new MockHttpServletResponse();
+
+        assertFalse(admission.preHandle(negativeSize, sizeResponse, null));
+        assertFalse(admission.preHandle(negativePage, pageResponse, null));
+
+        assertEquals(400, sizeResponse.getStatus());
+        assertEquals(400, pageResponse.getStatus());
+        assertTrue(pageResponse.getContentAsString().contains("\"field\":\"page\""));
+    }
+
+    private AdmissionController admission(AdmissionController.Limits limits) {
+        return new AdmissionController(limits, registry, new ObjectMapper(), () -> now);
+    }
+
+    private static MockHttpServletRequest request(String method, String pattern, String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        if (clientId != null) {
+            request.addHeader(AdmissionController.CLIENT_ID_HEADER, clientId);
+        }
+        return request;
+    }
+
+    @Test
+    void preHandle_tenantOverLimit_shouldRejectAcrossClients() throws Exception {
+        AdmissionController admission = admission(new AdmissionController.Limits(100, 100, 1, 1, 100, 100, 100, 1000, 10, true));
+        TenantContext.set("busy");
+        try {
+            assertTrue(admission.preHandle(request("GET", "/tasks/{id}", "a"), new MockHttpServletResponse(), null));
+
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            assertFalse(admission.preHandle(request("GET", "/tasks/{id}", "b"), response, null));
+            assertEquals(429, response.getStatus());
+        } finally {
+            TenantContext.clear();
+        }
+        assertTrue(admission.preHandle(request("GET", "/tasks/{id}", "b"), new MockHttpServletResponse(), null));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.taskmanager.config;
+
+import com.example.taskmanager.filter.ContentCoding;
+import com.example.taskmanager.filter.ResponseCompressionFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Response compression for large list and export responses.
+ * A level of 0 disables a coding; zstd is skipped on platforms without its native library.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "taskmanager.compression", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CompressionConfig {
+
+    @Bean
+    public FilterRegistrationBean<ResponseCompressionFilter> responseCompressionFilter(
+            @Value("${taskmanager.compression.min-response-size:2048}") int minResponseSize,
+            @Value("${taskmanager.compression.gzip-level:1}") int gzipLevel,
+            @Value("${taskmanager.compression.zstd-level:1}") int zstdLevel,
+            @Value("${taskmanager.compression.mime-types:application/json}") Set<String> mimeTypes) {
+        Map<ContentCoding, Integer> levels = new EnumMap<>(ContentCoding.class);
+        if (zstdLevel > 0 && ContentCoding.isZstdAvailable()) {
+            levels.put(ContentCoding.ZSTD, zstdLevel);
+        }
+        if (gzipLevel > 0) {
+            levels.put(ContentCoding.GZIP, gzipLevel);
+        }
+
+        FilterRegistrationBean<ResponseCompressionFilter> registration =
+                new FilterRegistrationBean<>(new ResponseCompressionFilter(minResponseSize, levels, mimeTypes));
+        registration.addUrlPatterns("/tasks", "/tasks/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.taskmanager.filter;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import com.github.luben.zstd.util.Native;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * HTTP content codings supported for compressed responses, in order of preference.
+ */
+public enum ContentCoding {
+
+    ZSTD("zstd") {
+        @Override
+        public OutputStream wrap(OutputStream out, int level) throws IOException {
+            return new ZstdOutputStream(out, level);
+        }
+    },
+
+    GZIP("gzip") {
+        @Override
+        public OutputStream wrap(OutputStream out, int level) throws IOException {
+            return new LeveledGzipOutputStream(out, level);
+        }
+    };
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Value used in {@code Accept-Encoding} and {@code Content-Encoding}
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Wrap an output stream so everything written to it is compressed
+     * @param out the underlying stream
+     * @param level the codec-specific compression level
+     * @return the compressing stream
+     */
+    public abstract OutputStream wrap(OutputStream out, int level) throws IOException;
+
+    /**
+     * Check whether the zstd native library can be loaded on this platform
+     */
+    public static boolean isZstdAvailable() {
+        try {
+            Native.load();
+            return true;
+        } catch (UnsatisfiedLinkError | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+        LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, 8192);
+            def.setLevel(level);
+        }
+    }
+}
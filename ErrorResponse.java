@@ -0,0 +1,38 @@
+package com.example.taskmanager.exception;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Structured error body returned for client errors.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ErrorResponse {
+
+    private final int status;
+    private final String error;
+    private final String message;
+    private final String field;
+
+    public ErrorResponse(int status, String error, String message, String field) {
+        this.status = status;
+        this.error = error;
+        this.message = message;
+        this.field = field;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
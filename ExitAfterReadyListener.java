@@ -0,0 +1,48 @@
+package com.example.taskmanager.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * Serves one request to the running application, logs time-to-first-request and shuts down.
+ * Used as the training run that records the AppCDS archive, so the classes on the first
+ * request path are archived along with those loaded during startup.
+ */
+public class ExitAfterReadyListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(ExitAfterReadyListener.class);
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        String port = context.getEnvironment().getProperty("local.server.port");
+        if (port != null) {
+            long start = System.nanoTime();
+            try {
+                HttpURLConnection connection =
+                        (HttpURLConnection) new URL("http://127.0.0.1:" + port + "/tasks").openConnection();
+                try (InputStream in = connection.getInputStream()) {
+                    in.readAllBytes();
+                }
+                connection.disconnect();
+                log.info("First request served in {} ms, {} ms after JVM start",
+                        (System.nanoTime() - start) / 1_000_000,
+                        System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime());
+            } catch (IOException e) {
+                log.warn("Warm-up request failed: {}", e.getMessage());
+            }
+        }
+        log.info("Exiting after startup (taskmanager.startup.exit-after-ready)");
+        System.exit(SpringApplication.exit(context));
+    }
+}
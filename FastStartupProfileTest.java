@@ -0,0 +1,64 @@
+package com.example.taskmanager;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the {@code fast-startup} profile keeps startup work that must not be deferred.
+ * Startup time itself is measured on a cold JVM by the {@code appcds} profile's training run.
+ */
+class FastStartupProfileTest {
+
+    @TempDir
+    Path dir;
+
+    private final RestTemplate http = new RestTemplate();
+
+    @Test
+    void fastStartup_shouldStillReplayWriteBehindStoreAtStartup() {
+        String[] writeBehind = {
+                "--taskmanager.write-behind.enabled=true",
+                "--taskmanager.write-behind.path=" + dir.resolve("store.log")
+        };
+        String id;
+        try (ConfigurableApplicationContext context = start("fast-startup", writeBehind)) {
+            id = context.getBean(TaskService.class).create(new Task("Persisted", LocalDate.now().plusDays(1))).getId();
+        }
+
+        try (ConfigurableApplicationContext context = start("fast-startup", writeBehind)) {
+            assertTrue(context.getBeanFactory().containsSingleton("writeBehindWriter"));
+            ResponseEntity<Task> response = http.getForEntity(url(context) + "/tasks/" + id, Task.class);
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+        }
+    }
+
+    private ConfigurableApplicationContext start(String profile, String... args) {
+        String[] common = {
+                "--server.port=0",
+                "--spring.profiles.active=" + profile,
+                "--taskmanager.retention.enabled=false",
+                "--taskmanager.archive.path=" + dir.resolve(profile + "-archive.bin"),
+                "--logging.level.root=WARN"
+        };
+        String[] all = new String[common.length + args.length];
+        System.arraycopy(common, 0, all, 0, common.length);
+        System.arraycopy(args, 0, all, common.length, args.length);
+        return new SpringApplicationBuilder(TaskManagerApplication.class).run(all);
+    }
+
+    private static String url(ConfigurableApplicationContext context) {
+        return "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.taskmanager.persistence;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.repository.TaskMutation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link TaskStore} backed by an append-only log of mutations as JSON lines.
+ * Each batch is written with a single write and one fsync, which is where
+ * write-behind batching pays off. The log is replayed on load.
+ */
+public class FileTaskStore implements TaskStore {
+
+    private final ObjectMapper mapper;
+    private final Path path;
+    private FileChannel channel;
+
+    public FileTaskStore(ObjectMapper mapper, Path path) {
+        this.mapper = mapper;
+        this.path = path;
+    }
+
+    @Override
+    public synchronized void write(List<TaskMutation> batch) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream(batch.size() * 256);
+        for (TaskMutation mutation : batch) {
+            lines.write(mapper.writeValueAsBytes(mutation));
+            lines.write('\n');
+        }
+        FileChannel out = channel();
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        out.force(false);
+    }
+
+    @Override
+    public synchronized Collection<Task> load() throws IOException {
+        Map<String, Task> tasks = new LinkedHashMap<>();
+        if (!Files.exists(path)) {
+            return tasks.values();
+        }
+        long size = Files.size(path);
+        long validEnd = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                long lineEnd = validEnd + line.getBytes(StandardCharsets.UTF_8).length + 1;
+                TaskMutation mutation;
+                try {
+                    mutation = lineEnd <= size ? mapper.readValue(line, TaskMutation.class) : null;
+                } catch (IOException e) {
+                    mutation = null;
+                }
+                if (mutation == null) {
+                    break;
+                }
+                if (mutation.getType() == TaskMutation.Type.SAVE) {
+                    tasks.put(mutation.getId(), mutation.getTask());
+                } else {
+                    tasks.remove(mutation.getId());
+                }
+                validEnd = lineEnd;
+            }
+        }
+        if (validEnd < size) {
+            // Torn tail from a crash mid-write; drop it so new batches start on a clean line
+            channel().truncate(validEnd);
+        }
+        return tasks.values();
+    }
+
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+}
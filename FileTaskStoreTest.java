@@ -0,0 +1,77 @@
+package com.example.taskmanager.persistence;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.repository.TaskMutation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileTaskStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private ObjectMapper mapper;
+    private Path path;
+    private FileTaskStore store;
+
+    @BeforeEach
+    void setUp() {
+        mapper = new ObjectMapper().findAndRegisterModules();
+        path = dir.resolve("store.log");
+        store = new FileTaskStore(mapper, path);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void load_missingFile_shouldBeEmpty() throws IOException {
+        assertTrue(store.load().isEmpty());
+    }
+
+    @Test
+    void write_thenLoad_shouldReplayLatestState() throws IOException {
+        Task kept = new Task("Kept", LocalDate.now().plusDays(1));
+        Task deleted = new Task("Deleted", LocalDate.now().plusDays(1));
+        store.write(List.of(TaskMutation.save(1, kept), TaskMutation.save(2, deleted)));
+        kept.setTitle("Kept v2");
+        store.write(List.of(TaskMutation.save(3, kept), TaskMutation.delete(4, deleted.getId())));
+
+        List<Task> loaded = new ArrayList<>(new FileTaskStore(mapper, path).load());
+
+        assertEquals(1, loaded.size());
+        assertEquals("Kept v2", loaded.get(0).getTitle());
+    }
+
+    @Test
+    void load_tornTail_shouldDropItAndKeepAppending() throws IOException {
+        Task first = new Task("First", LocalDate.now().plusDays(1));
+        store.write(List.of(TaskMutation.save(1, first)));
+        store.close();
+        Files.write(path, "{\"sequence\":2,\"ty".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        FileTaskStore reopened = new FileTaskStore(mapper, path);
+        assertEquals(1, reopened.load().size());
+        Task second = new Task("Second", LocalDate.now().plusDays(1));
+        reopened.write(List.of(TaskMutation.save(2, second)));
+        reopened.close();
+
+        assertEquals(2, new FileTaskStore(mapper, path).load().size());
+    }
+}
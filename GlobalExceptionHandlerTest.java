@@ -0,0 +1,40 @@
+package com.example.taskmanager.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void handleNotFound_shouldReturn404() {
+        ResponseEntity<ErrorResponse> response = handler.handleNotFound(new TaskNotFoundException("abc"));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Task with id 'abc' not found", response.getBody().getMessage());
+    }
+
+    @Test
+    void handleValidation_shouldReturn400WithField() {
+        ResponseEntity<ErrorResponse> response =
+                handler.handleValidation(ValidationException.forField("title", "Title is required"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(400, response.getBody().getStatus());
+        assertEquals("title", response.getBody().getField());
+    }
+
+    @Test
+    void taskNotFoundException_shouldNotCaptureStackTrace() {
+        TaskNotFoundException e = new TaskNotFoundException("abc");
+
+        assertEquals(0, e.getStackTrace().length);
+        assertEquals("abc", e.getId());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.archive.TaskArchive;
+import com.example.taskmanager.id.TaskIdGenerator;
+import com.example.taskmanager.id.TaskIds;
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.service.TaskServiceImpl;
+import com.example.taskmanager.tenant.TenantQuotas;
+import com.example.taskmanager.validation.TaskValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Id generation and task create throughput for each generator.
+ * Run with the {@code main} method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    @Param({TaskIds.RANDOM, TaskIds.TIME_ORDERED})
+    private String generatorName;
+
+    private TaskIdGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = TaskIds.named(generatorName);
+        TaskIds.install(generator);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String nextId() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    public Task create(CreateState state) {
+        Task task = new Task("Benchmark task", state.dueDate);
+        return state.service.create(task);
+    }
+
+    @State(Scope.Thread)
+    public static class CreateState {
+        TaskServiceImpl service;
+        LocalDate dueDate = LocalDate.now().plusDays(1);
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            service = new TaskServiceImpl(new TaskRepository(), new TaskValidator(200, 2000, 10, 100),
+                new TaskArchive(new ObjectMapper(), Paths.get("target", "benchmark-archive.bin")),
+                new TenantQuotas(Integer.MAX_VALUE));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IdGeneratorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.taskmanager.config;
+
+import com.example.taskmanager.id.TaskIdGenerator;
+import com.example.taskmanager.id.TaskIds;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the task id generator ({@code taskmanager.id.generator}: time-ordered or random).
+ */
+@Configuration(proxyBeanMethods = false)
+public class IdGeneratorConfig {
+
+    @Bean
+    public TaskIdGenerator taskIdGenerator(@Value("${taskmanager.id.generator:time-ordered}") String name) {
+        TaskIdGenerator generator = TaskIds.named(name);
+        TaskIds.install(generator);
+        return generator;
+    }
+}
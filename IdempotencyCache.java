@@ -0,0 +1,185 @@
+package com.example.taskmanager.idempotency;
+
+import com.example.taskmanager.exception.IdempotencyKeyInProgressException;
+import com.example.taskmanager.exception.IdempotencyKeyReusedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, time-expiring cache of results keyed by client-supplied idempotency keys.
+ * The first request for a key runs the action; repeats (including concurrent ones, which wait
+ * at most {@code waitMillis} for it) get the original result. A key is bound to a fingerprint
+ * of its request, so reusing it for a different request is rejected rather than replayed.
+ * Failed actions are not cached, so the client can retry.
+ */
+@Component
+public class IdempotencyCache {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long waitMillis;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    @Autowired
+    public IdempotencyCache(
+            @Value("${taskmanager.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${taskmanager.idempotency.ttl-seconds:86400}") long ttlSeconds,
+            @Value("${taskmanager.idempotency.wait-ms:5000}") long waitMillis) {
+        this(maxEntries, ttlSeconds, waitMillis, System::nanoTime);
+    }
+
+    IdempotencyCache(int maxEntries, long ttlSeconds, long waitMillis, LongSupplier nanoClock) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.waitMillis = waitMillis;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Run an action at most once per key within the TTL
+     * @param key the idempotency key, already scoped to the endpoint
+     * @param fingerprint identifies the request (e.g. a digest of its body); may be null
+     * @param action produces the result for the first request
+     * @return the result, flagged as replayed if it came from the cache
+     * @throws IdempotencyKeyReusedException if the key was used for a request with another fingerprint
+     * @throws IdempotencyKeyInProgressException if the first request did not finish in time
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Result<T> execute(String key, byte[] fingerprint, Supplier<T> action) {
+        Entry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            long now = nanoClock.getAsLong();
+            evictExpired(now);
+            entry = entries.get(key);
+            if (entry == null || entry.isExpired(now)) {
+                entry = new Entry(now + ttlNanos, fingerprint);
+                entries.put(key, entry);
+                owner = true;
+                if (entries.size() > maxEntries) {
+                    evictEldestCompleted();
+                }
+            }
+        }
+
+        if (!owner) {
+            if (!Arrays.equals(entry.fingerprint, fingerprint)) {
+                throw new IdempotencyKeyReusedException("Idempotency-Key was already used for a different request");
+            }
+            return new Result<>((T) await(entry.future), true);
+        }
+        try {
+            T value = action.get();
+            entry.future.complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException e) {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Get the number of cached keys (including in-flight ones)
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Entries are kept in insertion order with a fixed TTL, so expired ones are always at the head.
+     */
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext() && it.next().getValue().isExpired(now)) {
+            it.remove();
+        }
+    }
+
+    /**
+     * Evicting an in-flight entry would let a concurrent retry run the action again, so only
+     * completed ones go; the map exceeds its bound by at most the number of in-flight requests.
+     */
+    private void evictEldestCompleted() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().future.isDone()) {
+                it.remove();
+                return;
+            }
+        }
+    }
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException("A request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException("A request with this Idempotency-Key is still in progress");
+        }
+    }
+
+    private static final class Entry {
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        final long expiresAt;
+        final byte[] fingerprint;
+
+        Entry(long expiresAt, byte[] fingerprint) {
+            this.expiresAt = expiresAt;
+            this.fingerprint = fingerprint;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    /**
+     * Result of an idempotent execution.
+     */
+    public static final class Result<T> {
+        private final T value;
+        private final boolean replayed;
+
+        Result(T value, boolean replayed) {
+            this.value = value;
+            this.replayed = replayed;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * @return true if the value was produced by an earlier request with the same key
+         */
+        public boolean isReplayed() {
+            return replayed;
+        }
+    }
+}
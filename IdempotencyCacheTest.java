@@ -0,0 +1,133 @@
+package com.example.taskmanager.idempotency;
+
+import com.example.taskmanager.exception.IdempotencyKeyInProgressException;
+import com.example.taskmanager.exception.IdempotencyKeyReusedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+
+    private static final byte[] BODY = {1, 2, 3};
+
+    private AtomicLong now;
+    private IdempotencyCache cache;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong();
+        cache = new IdempotencyCache(2, 60, 100, now::get);
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void execute_sameKey_shouldRunOnceAndReplay() {
+        IdempotencyCache.Result<Integer> first = cache.execute("a", BODY, calls::incrementAndGet);
+        IdempotencyCache.Result<Integer> second = cache.execute("a", BODY, calls::incrementAndGet);
+
+        assertFalse(first.isReplayed());
+        assertTrue(second.isReplayed());
+        assertEquals(1, second.getValue());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_afterTtl_shouldRunAgain() {
+        cache.execute("a", BODY, calls::incrementAndGet);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+        IdempotencyCache.Result<Integer> result = cache.execute("a", BODY, calls::incrementAndGet);
+
+        assertFalse(result.isReplayed());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_overCapacity_shouldEvictOldest() {
+        cache.execute("a", BODY, calls::incrementAndGet);
+        cache.execute("b", BODY, calls::incrementAndGet);
+        cache.execute("c", BODY, calls::incrementAndGet);
+
+        assertEquals(2, cache.size());
+        assertFalse(cache.execute("a", BODY, calls::incrementAndGet).isReplayed());
+    }
+
+    @Test
+    void execute_failedAction_shouldNotBeCached() {
+        assertThrows(IllegalStateException.class, () -> cache.execute("a", BODY, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        IdempotencyCache.Result<Integer> retry = cache.execute("a", BODY, calls::incrementAndGet);
+
+        assertFalse(retry.isReplayed());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_sameKeyDifferentFingerprint_shouldReject() {
+        cache.execute("a", BODY, calls::incrementAndGet);
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> cache.execute("a", new byte[] {9}, calls::incrementAndGet));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_overCapacity_shouldNotEvictInFlightEntry() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread first = new Thread(() -> cache.execute("a", BODY, () -> {
+            started.countDown();
+            await(release);
+            return calls.incrementAndGet();
+        }));
+        first.start();
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        cache.execute("b", BODY, calls::incrementAndGet);
+        cache.execute("c", BODY, calls::incrementAndGet);
+        release.countDown();
+        first.join(1000);
+
+        assertTrue(cache.execute("a", BODY, calls::incrementAndGet).isReplayed());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void execute_originalStillRunning_shouldStopWaiting() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread first = new Thread(() -> cache.execute("a", BODY, () -> {
+            started.countDown();
+            await(release);
+            return calls.incrementAndGet();
+        }));
+        first.start();
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        try {
+            assertThrows(IdempotencyKeyInProgressException.class,
+                    () -> cache.execute("a", BODY, calls::incrementAndGet));
+        } finally {
+            release.countDown();
+            first.join(1000);
+        }
+        assertEquals(1, calls.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.taskmanager.exception;
+
+/**
+ * Thrown when a request with the same Idempotency-Key is still running after the retry
+ * has waited for it. Nothing was applied for the retry; clients should retry later.
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+    public IdempotencyKeyInProgressException(String message) {
+        super(message, null, false, false);
+    }
+}
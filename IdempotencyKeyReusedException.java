@@ -0,0 +1,11 @@
+package com.example.taskmanager.exception;
+
+/**
+ * Thrown when an Idempotency-Key is sent again with a different request body.
+ * Retrying with the same key does not help; the client must use a new key.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.taskmanager.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load generator for the task endpoints.
+ * <p>
+ * Requests are scheduled at a fixed arrival rate and each latency is measured from the
+ * time the request <em>should</em> have been sent, not from when a worker got to it.
+ * A stalled server therefore shows up as queueing delay in the histogram instead of
+ * silently lowering the offered load (coordinated omission).
+ * <p>
+ * Each run records into its own histogram, so requests still finishing from an earlier run
+ * (e.g. the warm-up) never land in a later one. Requests that have not finished when a run
+ * gives up waiting are counted as errors, with their latency so far.
+ */
+public class LoadGenerator {
+
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "DONE"};
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long COMPLETION_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final String baseUrl;
+    private final LoadMix mix;
+    private final List<String> ids;
+    private final HttpClient client;
+    private final ExecutorService workers;
+
+    /**
+     * @param baseUrl e.g. {@code http://127.0.0.1:8080}
+     * @param mix request kinds to send
+     * @param ids existing task ids to read
+     * @param concurrency worker threads issuing requests
+     */
+    public LoadGenerator(String baseUrl, LoadMix mix, List<String> ids, int concurrency) {
+        this.baseUrl = baseUrl;
+        this.mix = mix;
+        this.ids = ids;
+        this.workers = Executors.newFixedThreadPool(concurrency);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Offer load at a fixed rate and record latencies
+     * @param ratePerSecond intended requests per second
+     * @param duration how long to offer load
+     * @return latencies of all requests started during the run
+     */
+    public LoadResult run(int ratePerSecond, Duration duration) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long total = duration.toNanos() / intervalNanos;
+        Run run = new Run();
+
+        long start = System.nanoTime();
+        long lastIntendedStart = start;
+        for (long i = 0; i < total; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long delay = intendedStart - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            workers.execute(() -> send(run, intendedStart));
+            lastIntendedStart = intendedStart;
+        }
+        awaitCompletion(run, total);
+        long elapsed = System.nanoTime() - start;
+
+        // Stop counting before looking at what is missing, so nothing is counted twice
+        run.close();
+        Histogram histogram = run.latencies;
+        long missing = total - histogram.getTotalCount();
+        if (missing > 0) {
+            // Still in flight: each has been waiting at least as long as the last one sent
+            histogram.recordValueWithCount(
+                    Math.min(System.nanoTime() - lastIntendedStart, MAX_LATENCY_NANOS), missing);
+        }
+        return new LoadResult(histogram, run.errors.get() + missing, elapsed);
+    }
+
+    public void close() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void send(Run run, long intendedStart) {
+        boolean failed = false;
+        try {
+            HttpResponse<Void> response = client.send(request(mix.next()), HttpResponse.BodyHandlers.discarding());
+            failed = response.statusCode() >= 400;
+        } catch (IOException e) {
+            failed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed = true;
+        }
+        run.complete(Math.min(System.nanoTime() - intendedStart, MAX_LATENCY_NANOS), failed);
+    }
+
+    private HttpRequest request(LoadMix.Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case READ:
+                return get("/tasks/" + ids.get(random.nextInt(ids.size())));
+            case WRITE:
+                String body = "{\"title\":\"Load " + random.nextInt(1_000_000) + "\",\"dueDate\":\""
+                        + LocalDate.now().plusDays(1 + random.nextInt(30)) + "\"}";
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/tasks"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+            case LIST:
+                return get("/tasks?page=" + random.nextInt(5) + "&size=20");
+            case SEARCH:
+                return get("/tasks?status=" + STATUSES[random.nextInt(STATUSES.length)] + "&size=20");
+            default:
+                throw new IllegalStateException("Unknown operation " + operation);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private static void awaitCompletion(Run run, long expected) throws InterruptedException {
+        // In-flight requests must finish so their latency, including queueing, is counted
+        long deadline = System.nanoTime() + COMPLETION_TIMEOUT_NANOS;
+        while (run.completed.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Measurements of one run
+     */
+    private static class Run {
+        final Histogram latencies = new Histogram(MAX_LATENCY_NANOS, 3);
+        final AtomicLong completed = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        private boolean closed;
+
+        synchronized void complete(long latencyNanos, boolean failed) {
+            if (closed) {
+                // Finished after the run gave up on it; already counted as missing
+                return;
+            }
+            if (failed) {
+                errors.incrementAndGet();
+            }
+            latencies.recordValue(latencyNanos);
+            completed.incrementAndGet();
+        }
+
+        synchronized void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.taskmanager.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of one measured load run. Latencies are in microseconds.
+ */
+public class LoadResult {
+
+    private final double throughput;
+    private final long p50Micros;
+    private final long p99Micros;
+    private final long p999Micros;
+    private final long maxMicros;
+    private final long requests;
+    private final long errors;
+
+    LoadResult(Histogram latencyNanos, long errors, long elapsedNanos) {
+        this.requests = latencyNanos.getTotalCount();
+        this.errors = errors;
+        this.throughput = (requests - errors) / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+        this.p50Micros = micros(latencyNanos.getValueAtPercentile(50));
+        this.p99Micros = micros(latencyNanos.getValueAtPercentile(99));
+        this.p999Micros = micros(latencyNanos.getValueAtPercentile(99.9));
+        this.maxMicros = micros(latencyNanos.getMaxValue());
+    }
+
+    public double getThroughput() {
+        return throughput;
+    }
+
+    public long getP50Micros() {
+        return p50Micros;
+    }
+
+    public long getP99Micros() {
+        return p99Micros;
+    }
+
+    public long getP999Micros() {
+        return p999Micros;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Render in the format of the stored baseline file
+     */
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("throughput", String.format("%.1f", throughput));
+        properties.setProperty("p99-micros", Long.toString(p99Micros));
+        return properties;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("requests=%d errors=%d throughput=%.1f/s p50=%dus p99=%dus p99.9=%dus max=%dus",
+                requests, errors, throughput, p50Micros, p99Micros, p999Micros, maxMicros);
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.archive.TaskArchive;
+import com.example.taskmanager.exception.TaskNotFoundException;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.service.TaskServiceImpl;
+import com.example.taskmanager.tenant.TenantQuotas;
+import com.example.taskmanager.validation.TaskValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Paths;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a {@code get} miss through the service, against an exception that captures a stack trace.
+ * Run with the {@code main} method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotFoundPathBenchmark {
+
+    private TaskServiceImpl service;
+    private String missingId;
+
+    @Setup
+    public void setUp() {
+        service = new TaskServiceImpl(new TaskRepository(), new TaskValidator(200, 2000, 10, 100),
+                new TaskArchive(new ObjectMapper(), Paths.get("target", "benchmark-archive.bin")),
+                new TenantQuotas(Integer.MAX_VALUE));
+        missingId = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public Object serviceGetMiss() {
+        try {
+            return service.get(missingId);
+        } catch (TaskNotFoundException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object stackTraceExceptionMiss() {
+        try {
+            throw new RuntimeException("Task with id '" + missingId + "' not found");
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NotFoundPathBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.taskmanager.id;
+
+import java.util.UUID;
+
+/**
+ * Random (version 4) UUIDs from {@link UUID#randomUUID()}.
+ * Backed by a shared {@code SecureRandom}, so it contends under high create rates.
+ */
+public class RandomUuidGenerator implements TaskIdGenerator {
+
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
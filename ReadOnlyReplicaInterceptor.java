@@ -0,0 +1,41 @@
+package com.example.taskmanager.replication;
+
+import com.example.taskmanager.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Rejects writes on a follower: its state only changes through the leader's stream.
+ */
+public class ReadOnlyReplicaInterceptor implements HandlerInterceptor {
+
+    private final String leaderUrl;
+    private final ObjectMapper mapper;
+
+    public ReadOnlyReplicaInterceptor(String leaderUrl, ObjectMapper mapper) {
+        this.leaderUrl = leaderUrl;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)) {
+            return true;
+        }
+        response.setStatus(HttpStatus.CONFLICT.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        mapper.writeValue(response.getOutputStream(), new ErrorResponse(HttpStatus.CONFLICT.value(),
+                HttpStatus.CONFLICT.getReasonPhrase(),
+                "Read-only follower; send writes to the leader at " + leaderUrl, null));
+        return false;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.taskmanager.replication;
+
+import com.example.taskmanager.repository.TaskMutation;
+
+import java.util.List;
+
+/**
+ * A page of the leader's mutation stream, as served to followers.
+ */
+public class ReplicationBatch {
+
+    private String leaderEpoch;
+    private long leaderSequence;
+    private boolean snapshotRequired;
+    private List<TaskMutation> mutations;
+
+    public ReplicationBatch() {
+    }
+
+    public ReplicationBatch(String leaderEpoch, long leaderSequence, boolean snapshotRequired,
+                            List<TaskMutation> mutations) {
+        this.leaderEpoch = leaderEpoch;
+        this.leaderSequence = leaderSequence;
+        this.snapshotRequired = snapshotRequired;
+        this.mutations = mutations;
+    }
+
+    /**
+     * @return the leader repository's epoch; sequences from another epoch are meaningless here
+     */
+    public String getLeaderEpoch() {
+        return leaderEpoch;
+    }
+
+    public void setLeaderEpoch(String leaderEpoch) {
+        this.leaderEpoch = leaderEpoch;
+    }
+
+    /**
+     * @return the leader's latest sequence when the batch was read
+     */
+    public long getLeaderSequence() {
+        return leaderSequence;
+    }
+
+    public void setLeaderSequence(long leaderSequence) {
+        this.leaderSequence = leaderSequence;
+    }
+
+    /**
+     * @return true if the requested position is no longer in the leader's log
+     * and the follower must reload from a snapshot
+     */
+    public boolean isSnapshotRequired() {
+        return snapshotRequired;
+    }
+
+    public void setSnapshotRequired(boolean snapshotRequired) {
+        this.snapshotRequired = snapshotRequired;
+    }
+
+    public List<TaskMutation> getMutations() {
+        return mutations;
+    }
+
+    public void setMutations(List<TaskMutation> mutations) {
+        this.mutations = mutations;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.taskmanager.config;
+
+import com.example.taskmanager.archive.TaskArchive;
+import com.example.taskmanager.controller.ReplicationController;
+import com.example.taskmanager.replication.ReadOnlyReplicaInterceptor;
+import com.example.taskmanager.replication.ReplicationFollower;
+import com.example.taskmanager.replication.ReplicationLog;
+import com.example.taskmanager.replication.ReplicationNode;
+import com.example.taskmanager.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Leader/follower replication of the task store ({@code taskmanager.replication.*}).
+ * The leader keeps a log of recent mutations; followers tail it over HTTP, authenticated by a
+ * shared token, and serve reads.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ReplicationConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "taskmanager.replication", name = "role", havingValue = "leader")
+    public ReplicationLog replicationLog(TaskRepository repository, MeterRegistry registry,
+                                         @Value("${taskmanager.replication.log-capacity:100000}") int capacity) {
+        // Attach under the repository's write lock so the log is contiguous from its start sequence
+        ReplicationLog log;
+        synchronized (repository) {
+            log = new ReplicationLog(capacity, repository.lastSequence(), repository.epoch());
+            repository.addListener(log);
+        }
+        Gauge.builder("taskmanager.replication.sequence", log, ReplicationLog::lastSequence)
+                .description("Latest mutation sequence on the leader")
+                .register(registry);
+        return log;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "taskmanager.replication", name = "role", havingValue = "follower")
+    public ReplicationFollower replicationFollower(
+            TaskRepository repository,
+            TaskArchive archive,
+            RestTemplateBuilder builder,
+            MeterRegistry registry,
+            @Value("${taskmanager.replication.leader-url}") String leaderUrl,
+            @Value("${taskmanager.replication.token:}") String token,
+            @Value("${taskmanager.replication.batch-size:1000}") int batchSize,
+            @Value("${taskmanager.replication.poll-wait:1s}") Duration pollWait) {
+        return new ReplicationFollower(repository, archive,
+                builder.rootUri(leaderUrl)
+                        .defaultHeader(ReplicationController.TOKEN_HEADER, token)
+                        .setConnectTimeout(Duration.ofSeconds(2))
+                        .setReadTimeout(pollWait.plusSeconds(5))
+                        .build(),
+                registry, batchSize, pollWait.toMillis());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "taskmanager.replication", name = "role", havingValue = "follower")
+    public ReadOnlyReplicaInterceptor readOnlyReplicaInterceptor(
+            @Value("${taskmanager.replication.leader-url}") String leaderUrl, ObjectMapper mapper) {
+        return new ReadOnlyReplicaInterceptor(leaderUrl, mapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "taskmanager.replication", name = "role")
+    public ReplicationController replicationController(ReplicationNode node, TaskRepository repository,
+                                                       TaskArchive archive,
+                                                       @Value("${taskmanager.replication.token:}") String token) {
+        return new ReplicationController(node, repository, archive, token);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.taskmanager.controller;
+
+import com.example.taskmanager.archive.TaskArchive;
+import com.example.taskmanager.replication.ReplicationBatch;
+import com.example.taskmanager.replication.ReplicationLog;
+import com.example.taskmanager.replication.ReplicationNode;
+import com.example.taskmanager.replication.ReplicationStatus;
+import com.example.taskmanager.repository.RepositorySnapshot;
+import com.example.taskmanager.repository.TaskRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Replication endpoints. Not component-scanned: {@code ReplicationConfig} registers it only
+ * when {@code taskmanager.replication.role} is set. The log, snapshot and archive endpoints
+ * are served by the leader only, and only to callers presenting the shared replication token
+ * ({@code taskmanager.replication.token}): they return every tenant's data and bypass the
+ * admission control in front of {@code /tasks}.
+ */
+@ResponseBody
+@RequestMapping("/replication")
+public class ReplicationController {
+
+    public static final String ARCHIVE_LENGTH = "Archive-Length";
+    public static final String TOKEN_HEADER = "X-Replication-Token";
+
+    private static final int MAX_BATCH = 10_000;
+    private static final long MAX_WAIT_MILLIS = 30_000;
+    private static final int MAX_ARCHIVE_BYTES = 16 * 1024 * 1024;
+
+    private final ReplicationNode node;
+    private final TaskRepository repository;
+    private final TaskArchive archive;
+    private final byte[] token;
+
+    public ReplicationController(ReplicationNode node, TaskRepository repository, TaskArchive archive,
+                                 String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("taskmanager.replication.token must be set when replication is enabled");
+        }
+        this.node = node;
+        this.repository = repository;
+        this.archive = archive;
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * GET /replication/status - Role, position and lag of this node
+     */
+    @GetMapping("/status")
+    public ReplicationStatus status() {
+        return node.status();
+    }
+
+    /**
+     * GET /replication/mutations - Long-poll the leader's mutation stream
+     */
+    @GetMapping("/mutations")
+    public ReplicationBatch mutations(
+            @RequestHeader(value = TOKEN_HEADER, required = false) String token,
+            @RequestParam long after,
+            @RequestParam(defaultValue = "1000") int max,
+            @RequestParam(defaultValue = "1000") long waitMillis) throws InterruptedException {
+        return leaderLog(token).read(after, Math.min(Math.max(max, 1), MAX_BATCH),
+                Math.min(Math.max(waitMillis, 0), MAX_WAIT_MILLIS));
+    }
+
+    /**
+     * GET /replication/snapshot - Full copy of the leader's tasks and its sequence
+     */
+    @GetMapping("/snapshot")
+    public RepositorySnapshot snapshot(@RequestHeader(value = TOKEN_HEADER, required = false) String token) {
+        leaderLog(token);
+        return repository.snapshot();
+    }
+
+    /**
+     * GET /replication/archive - Archive frames past a follower's archive length.
+     * The leader's archive length is returned in the {@code Archive-Length} header.
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<byte[]> archive(
+            @RequestHeader(value = TOKEN_HEADER, required = false) String token,
+            @RequestParam long offset,
+            @RequestParam(defaultValue = "1048576") int maxBytes) {
+        leaderLog(token);
+        byte[] frames = archive.readFrames(offset, Math.min(Math.max(maxBytes, 1), MAX_ARCHIVE_BYTES));
+        // Read after the frames, so it never falls short of what was just returned
+        long length = archive.length();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(ARCHIVE_LENGTH, Long.toString(length))
+                .body(frames);
+    }
+
+    private ReplicationLog leaderLog(String presented) {
+        if (presented == null || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Replication endpoints are for followers only");
+        }
+        if (!(node instanceof ReplicationLog)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "This node is not a replication leader");
+        }
+        return (ReplicationLog) node;
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.taskmanager.replication;
+
+import com.example.taskmanager.archive.TaskArchive;
+import com.example.taskmanager.controller.ReplicationController;
+import com.example.taskmanager.repository.RepositorySnapshot;
+import com.example.taskmanager.repository.TaskMutation;
+import com.example.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Objects;
+
+/**
+ * Follower side of replication: tails the leader's mutation stream over HTTP and
+ * applies it to the local repository, which then serves reads.
+ * <p>
+ * Starts from a snapshot, then long-polls {@code /replication/mutations}; if it falls
+ * out of the leader's log, or the leader's epoch changes (it restarted, so its sequences
+ * started over), it reloads a snapshot.
+ * <p>
+ * The leader's archive is mirrored too, so archived tasks stay readable here. Before applying
+ * a batch the follower copies any new archive frames: the leader archives a task before
+ * deleting it, so the archived copy always arrives before the delete.
+ */
+public class ReplicationFollower implements ReplicationNode {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationFollower.class);
+    private static final long RETRY_BACKOFF_MILLIS = 1000;
+    private static final int ARCHIVE_CHUNK_BYTES = 1024 * 1024;
+
+    private final TaskRepository repository;
+    private final TaskArchive archive;
+    private final RestTemplate leader;
+    private final int batchSize;
+    private final long pollWaitMillis;
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile boolean initialized;
+    private volatile String leaderEpoch;
+    private volatile long appliedSequence;
+    private volatile long leaderSequence;
+    private volatile long lastAppliedTimestamp;
+    private Thread poller;
+
+    public ReplicationFollower(TaskRepository repository, TaskArchive archive, RestTemplate leader,
+                               MeterRegistry registry, int batchSize, long pollWaitMillis) {
+        this.repository = repository;
+        this.archive = archive;
+        this.leader = leader;
+        this.batchSize = batchSize;
+        this.pollWaitMillis = pollWaitMillis;
+
+        Gauge.builder("taskmanager.replication.lag.mutations", this, ReplicationFollower::lagMutations)
+                .description("Leader mutations not yet applied on this follower")
+                .register(registry);
+        Gauge.builder("taskmanager.replication.lag", this, follower -> follower.lagMillis() / 1000.0)
+                .description("Age of the oldest leader mutation not yet applied")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        poller = new Thread(this::run, "task-replication-follower");
+        poller.setDaemon(true);
+        poller.start();
+    }
+
+    public synchronized void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        poller.interrupt();
+        poller.join(pollWaitMillis * 2);
+    }
+
+    @Override
+    public ReplicationStatus status() {
+        return new ReplicationStatus("follower", appliedSequence, leaderSequence,
+                lagMutations(), lagMillis(), connected);
+    }
+
+    long lagMutations() {
+        return Math.max(0, leaderSequence - appliedSequence);
+    }
+
+    long lagMillis() {
+        if (lagMutations() == 0) {
+            return 0;
+        }
+        return Math.max(0, System.currentTimeMillis() - lastAppliedTimestamp);
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                poll();
+                connected = true;
+            } catch (RestClientException e) {
+                if (connected) {
+                    log.warn("Lost connection to replication leader: {}", e.getMessage());
+                }
+                connected = false;
+                sleepQuietly();
+            } catch (RuntimeException e) {
+                log.error("Replication apply failed; retrying", e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * Fetch and apply one page of the leader's stream
+     */
+    void poll() {
+        if (!initialized) {
+            installSnapshot();
+        }
+        ReplicationBatch batch = leader.getForObject(
+                "/replication/mutations?after={after}&max={max}&waitMillis={wait}",
+                ReplicationBatch.class, appliedSequence, batchSize, pollWaitMillis);
+        if (batch == null) {
+            return;
+        }
+        if (batch.isSnapshotRequired()) {
+            installSnapshot();
+            return;
+        }
+        if (!Objects.equals(batch.getLeaderEpoch(), leaderEpoch)) {
+            // A restarted leader reuses sequence numbers; they do not continue what we applied
+            log.info("Replication leader epoch changed from {} to {}; reloading snapshot",
+                    leaderEpoch, batch.getLeaderEpoch());
+            installSnapshot();
+            return;
+        }
+        syncArchive();
+        for (TaskMutation mutation : batch.getMutations()) {
+            apply(mutation);
+        }
+        leaderSequence = Math.max(batch.getLeaderSequence(), appliedSequence);
+        if (lagMutations() == 0) {
+            lastAppliedTimestamp = System.currentTimeMillis();
+        }
+    }
+
+    private void installSnapshot() {
+        RepositorySnapshot snapshot = leader.getForObject("/replication/snapshot", RepositorySnapshot.class);
+        if (snapshot == null) {
+            return;
+        }
+        syncArchive();
+        repository.replaceAll(snapshot.getTasks());
+        leaderEpoch = snapshot.getEpoch();
+        appliedSequence = snapshot.getSequence();
+        leaderSequence = Math.max(leaderSequence, appliedSequence);
+        lastAppliedTimestamp = System.currentTimeMillis();
+        initialized = true;
+        log.info("Installed replication snapshot at sequence {} ({} tasks)",
+                snapshot.getSequence(), snapshot.getTasks().size());
+    }
+
+    /**
+     * Copy the leader's archive frames past the local archive's length
+     */
+    void syncArchive() {
+        long leaderLength;
+        do {
+            long offset = archive.length();
+            ResponseEntity<byte[]> response = leader.getForEntity(
+                    "/replication/archive?offset={offset}&maxBytes={max}", byte[].class, offset, ARCHIVE_CHUNK_BYTES);
+            leaderLength = Long.parseLong(response.getHeaders().getFirst(ReplicationController.ARCHIVE_LENGTH));
+            if (leaderLength < offset) {
+                // Not the archive this copy was taken from (e.g. the leader's was replaced); start over
+                log.warn("Leader archive is shorter than the local copy ({} < {} bytes); re-copying",
+                        leaderLength, offset);
+                archive.clear();
+                continue;
+            }
+            byte[] frames = response.getBody();
+            if (frames == null || frames.length == 0) {
+                return;
+            }
+            archive.appendFrames(offset, frames);
+        } while (archive.length() < leaderLength);
+    }
+
+    private void apply(TaskMutation mutation) {
+        if (mutation.getType() == TaskMutation.Type.SAVE) {
+            repository.save(mutation.getTask());
+        } else {
+            repository.delete(mutation.getId());
+        }
+        appliedSequence = mutation.getSequence();
+        lastAppliedTimestamp = mutation.getTimestamp();
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(RETRY_BACKOFF_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
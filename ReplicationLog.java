@@ -0,0 +1,101 @@
+package com.example.taskmanager.replication;
+
+import com.example.taskmanager.repository.TaskMutation;
+import com.example.taskmanager.repository.TaskMutationListener;
+import org.springframework.core.Ordered;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Leader-side ring buffer of the most recent mutations, read by followers with long polling.
+ * A follower that falls further behind than the ring holds is told to reload from a snapshot.
+ */
+public class ReplicationLog implements TaskMutationListener, ReplicationNode, Ordered {
+
+    private final TaskMutation[] ring;
+    private final String epoch;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private long firstSequence;
+    private long lastSequence;
+
+    /**
+     * @param capacity number of recent mutations kept for followers
+     * @param startSequence repository sequence when the log was attached; earlier
+     *                      mutations are only available through a snapshot
+     * @param epoch the repository's epoch, sent with every batch
+     */
+    public ReplicationLog(int capacity, long startSequence, String epoch) {
+        this.ring = new TaskMutation[capacity];
+        this.epoch = epoch;
+        this.firstSequence = startSequence + 1;
+        this.lastSequence = startSequence;
+    }
+
+    @Override
+    public void onMutation(TaskMutation mutation) {
+        lock.lock();
+        try {
+            ring[(int) (mutation.getSequence() % ring.length)] = mutation;
+            lastSequence = mutation.getSequence();
+            firstSequence = Math.max(firstSequence, lastSequence - ring.length + 1);
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Read mutations after a sequence, waiting up to {@code waitMillis} for new ones
+     * @param after the last sequence the follower has applied
+     * @param max maximum mutations to return
+     * @param waitMillis how long to wait when there is nothing new
+     */
+    public ReplicationBatch read(long after, int max, long waitMillis) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(waitMillis);
+            while (lastSequence == after && remaining > 0) {
+                remaining = appended.awaitNanos(remaining);
+            }
+            // Behind the ring, or ahead of a restarted leader: only a snapshot can fix it
+            if (after + 1 < firstSequence || after > lastSequence) {
+                return new ReplicationBatch(epoch, lastSequence, true, List.of());
+            }
+            long to = Math.min(lastSequence, after + max);
+            List<TaskMutation> mutations = new ArrayList<>((int) (to - after));
+            for (long sequence = after + 1; sequence <= to; sequence++) {
+                mutations.add(ring[(int) (sequence % ring.length)]);
+            }
+            return new ReplicationBatch(epoch, lastSequence, false, mutations);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long lastSequence() {
+        lock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public ReplicationStatus status() {
+        return new ReplicationStatus("leader", lastSequence(), null, null, null, null);
+    }
+
+    /**
+     * Runs after listeners that may still reject the write
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
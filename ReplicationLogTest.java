@@ -0,0 +1,82 @@
+package com.example.taskmanager.replication;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.repository.TaskMutation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicationLogTest {
+
+    private ReplicationLog log;
+
+    @BeforeEach
+    void setUp() {
+        log = new ReplicationLog(4, 0, "epoch-1");
+    }
+
+    @Test
+    void read_shouldReturnMutationsAfterSequence() throws InterruptedException {
+        append(1, 2, 3);
+
+        ReplicationBatch batch = log.read(1, 10, 0);
+
+        assertFalse(batch.isSnapshotRequired());
+        assertEquals(3, batch.getLeaderSequence());
+        assertEquals(2, batch.getMutations().size());
+        assertEquals(2, batch.getMutations().get(0).getSequence());
+    }
+
+    @Test
+    void read_shouldRespectMax() throws InterruptedException {
+        append(1, 2, 3);
+
+        ReplicationBatch batch = log.read(0, 2, 0);
+
+        assertEquals(2, batch.getMutations().size());
+    }
+
+    @Test
+    void read_behindRing_shouldRequireSnapshot() throws InterruptedException {
+        append(1, 2, 3, 4, 5, 6);
+
+        assertTrue(log.read(1, 10, 0).isSnapshotRequired());
+        assertFalse(log.read(2, 10, 0).isSnapshotRequired());
+    }
+
+    @Test
+    void read_aheadOfLeader_shouldRequireSnapshot() throws InterruptedException {
+        append(1);
+
+        assertTrue(log.read(5, 10, 0).isSnapshotRequired());
+    }
+
+    @Test
+    void read_caughtUp_shouldWakeOnNewMutation() throws InterruptedException {
+        append(1);
+        Thread writer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            append(2);
+        });
+        writer.start();
+
+        ReplicationBatch batch = log.read(1, 10, 5_000);
+        writer.join();
+
+        assertEquals(1, batch.getMutations().size());
+        assertEquals(2, batch.getLeaderSequence());
+    }
+
+    private void append(long... sequences) {
+        for (long sequence : sequences) {
+            log.onMutation(TaskMutation.save(sequence, new Task("Task " + sequence, LocalDate.now())));
+        }
+    }
+}
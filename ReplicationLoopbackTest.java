@@ -0,0 +1,183 @@
+package com.example.taskmanager.replication;
+
+import com.example.taskmanager.TaskManagerApplication;
+import com.example.taskmanager.archive.TaskArchive;
+import com.example.taskmanager.archive.TaskRetentionJob;
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots a leader and a follower on random loopback ports and replicates between them.
+ */
+class ReplicationLoopbackTest {
+
+    private static final String TOKEN = "loopback-secret";
+
+    @TempDir
+    Path dir;
+
+    private ConfigurableApplicationContext leader;
+    private ConfigurableApplicationContext follower;
+    private final RestTemplate http = new RestTemplate();
+
+    @BeforeEach
+    void setUp() {
+        leader = start("leader", "--taskmanager.replication.role=leader");
+        follower = start("follower", "--taskmanager.replication.role=follower",
+                "--taskmanager.replication.leader-url=" + url(leader),
+                "--taskmanager.replication.poll-wait=200ms");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (follower != null) {
+            follower.close();
+        }
+        if (leader != null) {
+            leader.close();
+        }
+    }
+
+    @Test
+    void writesOnLeader_shouldBecomeReadableOnFollower() throws InterruptedException {
+        Task created = http.postForObject(url(leader) + "/tasks", newTask("Replicated"), Task.class);
+        assertNotNull(created);
+
+        awaitTrue(() -> exists(follower, created.getId()));
+
+        Task update = new Task();
+        update.setStatus(Task.Status.IN_PROGRESS);
+        http.put(url(leader) + "/tasks/" + created.getId(), update);
+        awaitTrue(() -> http.getForObject(url(follower) + "/tasks/" + created.getId(), Task.class)
+                .getStatus() == Task.Status.IN_PROGRESS);
+
+        http.delete(url(leader) + "/tasks/" + created.getId());
+        awaitTrue(() -> !exists(follower, created.getId()));
+
+        awaitTrue(() -> {
+            Map<?, ?> status = http.getForObject(url(follower) + "/replication/status", Map.class);
+            return status != null && ((Number) status.get("lagMutations")).longValue() == 0
+                    && ((Number) status.get("sequence")).longValue() == 3;
+        });
+    }
+
+    @Test
+    void archivedOnLeader_shouldStayReadableOnFollower() throws InterruptedException {
+        Task done = newTask("Archived");
+        done.setStatus(Task.Status.DONE);
+        Task created = http.postForObject(url(leader) + "/tasks", done, Task.class);
+        assertNotNull(created);
+        awaitTrue(() -> exists(follower, created.getId()));
+
+        TaskRetentionJob retention = new TaskRetentionJob(leader.getBean(TaskRepository.class),
+                leader.getBean(TaskArchive.class), Duration.ZERO, 0, 10, Clock.systemUTC());
+        assertEquals(1, retention.archiveEligible());
+
+        TaskRepository followerRepository = follower.getBean(TaskRepository.class);
+        awaitTrue(() -> followerRepository.findById(created.getId()).isEmpty());
+        assertTrue(follower.getBean(TaskArchive.class).contains(created.getId()));
+        Task archived = http.getForObject(url(follower) + "/tasks/" + created.getId(), Task.class);
+        assertEquals(Task.Status.DONE, archived.getStatus());
+    }
+
+    @Test
+    void leaderRestartedPastFollowerPosition_shouldReloadSnapshot() throws InterruptedException {
+        Task before = http.postForObject(url(leader) + "/tasks", newTask("Before restart"), Task.class);
+        assertNotNull(before);
+        awaitTrue(() -> exists(follower, before.getId()));
+
+        // The restarted leader's sequences overtake the follower's before it polls again
+        ReplicationFollower replication = follower.getBean(ReplicationFollower.class);
+        replication.stop();
+        String port = leader.getEnvironment().getProperty("local.server.port");
+        leader.close();
+        leader = start("leader", "--taskmanager.replication.role=leader", "--server.port=" + port);
+        Task first = http.postForObject(url(leader) + "/tasks", newTask("After restart 1"), Task.class);
+        Task second = http.postForObject(url(leader) + "/tasks", newTask("After restart 2"), Task.class);
+        assertNotNull(first);
+        assertNotNull(second);
+        replication.start();
+
+        awaitTrue(() -> exists(follower, first.getId()) && exists(follower, second.getId()));
+        assertFalse(exists(follower, before.getId()));
+    }
+
+    @Test
+    void replicationEndpoints_withoutToken_shouldBeForbidden() {
+        HttpClientErrorException e = assertThrows(HttpClientErrorException.class,
+                () -> http.getForObject(url(leader) + "/replication/snapshot", String.class));
+
+        assertEquals(HttpStatus.FORBIDDEN, e.getStatusCode());
+        assertThrows(HttpClientErrorException.Forbidden.class,
+                () -> http.getForObject(url(leader) + "/replication/mutations?after=0", String.class));
+    }
+
+    @Test
+    void writesOnFollower_shouldBeRejected() {
+        HttpClientErrorException e = assertThrows(HttpClientErrorException.class,
+                () -> http.postForObject(url(follower) + "/tasks", newTask("Rejected"), Task.class));
+
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+    }
+
+    private ConfigurableApplicationContext start(String name, String... args) {
+        List<String> all = new ArrayList<>(List.of(
+                "--taskmanager.retention.enabled=false",
+                "--taskmanager.replication.token=" + TOKEN,
+                "--taskmanager.archive.path=" + dir.resolve(name + "-archive.bin"),
+                "--logging.level.root=WARN"));
+        // A random port unless the arguments pin one
+        if (Arrays.stream(args).noneMatch(arg -> arg.startsWith("--server.port="))) {
+            all.add("--server.port=0");
+        }
+        all.addAll(List.of(args));
+        return new SpringApplicationBuilder(TaskManagerApplication.class).run(all.toArray(new String[0]));
+    }
+
+    private static String url(ConfigurableApplicationContext context) {
+        return "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    private boolean exists(ConfigurableApplicationContext node, String id) {
+        try {
+            ResponseEntity<Task> response = http.getForEntity(url(node) + "/tasks/" + id, Task.class);
+            return response.getStatusCode() == HttpStatus.OK;
+        } catch (HttpClientErrorException.NotFound e) {
+            return false;
+        }
+    }
+
+    private static Task newTask(String title) {
+        return new Task(title, LocalDate.now().plusDays(1));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met within 10s");
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.taskmanager.replication;
+
+/**
+ * This instance's side of replication (leader or follower).
+ */
+public interface ReplicationNode {
+
+    ReplicationStatus status();
+}
@@ -0,0 +1,54 @@
+package com.example.taskmanager.replication;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Replication state of this node, served at {@code GET /replication/status}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReplicationStatus {
+
+    private final String role;
+    private final long sequence;
+    private final Long leaderSequence;
+    private final Long lagMutations;
+    private final Long lagMillis;
+    private final Boolean connected;
+
+    public ReplicationStatus(String role, long sequence, Long leaderSequence,
+                             Long lagMutations, Long lagMillis, Boolean connected) {
+        this.role = role;
+        this.sequence = sequence;
+        this.leaderSequence = leaderSequence;
+        this.lagMutations = lagMutations;
+        this.lagMillis = lagMillis;
+        this.connected = connected;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    /**
+     * @return the latest sequence on a leader, or the last applied leader sequence on a follower
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Long getLeaderSequence() {
+        return leaderSequence;
+    }
+
+    public Long getLagMutations() {
+        return lagMutations;
+    }
+
+    public Long getLagMillis() {
+        return lagMillis;
+    }
+
+    public Boolean getConnected() {
+        return connected;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.model.Task;
+
+import java.util.List;
+
+/**
+ * Point-in-time copy of the repository and the mutation sequence (within its epoch) it reflects.
+ */
+public class RepositorySnapshot {
+
+    private String epoch;
+    private long sequence;
+    private List<Task> tasks;
+
+    public RepositorySnapshot() {
+    }
+
+    public RepositorySnapshot(String epoch, long sequence, List<Task> tasks) {
+        this.epoch = epoch;
+        this.sequence = sequence;
+        this.tasks = tasks;
+    }
+
+    /**
+     * @return the {@link TaskRepository#epoch()} the sequence belongs to
+     */
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public void setEpoch(String epoch) {
+        this.epoch = epoch;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<Task> tasks) {
+        this.tasks = tasks;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.taskmanager.controller;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Digests the raw body of task requests that carry an Idempotency-Key, so a key reused for a
+ * different request can be told apart from a retry. The parsed body can't be compared instead:
+ * a task without an id is given a fresh one each time it is read.
+ */
+@ControllerAdvice(assignableTypes = TaskController.class)
+public class RequestBodyDigestAdvice extends RequestBodyAdviceAdapter {
+
+    static final String ATTRIBUTE = RequestBodyDigestAdvice.class.getName() + ".digest";
+
+    /**
+     * Get the SHA-256 digest of the request body, or null if it was not digested
+     */
+    public static byte[] digestOf(HttpServletRequest request) {
+        Object digest = request.getAttribute(ATTRIBUTE);
+        return digest instanceof byte[] ? (byte[]) digest : null;
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) throws IOException {
+        if (!inputMessage.getHeaders().containsKey(TaskController.IDEMPOTENCY_KEY)) {
+            return inputMessage;
+        }
+        DigestInputStream body = new DigestInputStream(inputMessage.getBody(), sha256());
+        RequestContextHolder.currentRequestAttributes().setAttribute(ATTRIBUTE, body, RequestAttributes.SCOPE_REQUEST);
+        return new HttpInputMessage() {
+            @Override
+            public InputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return inputMessage.getHeaders();
+            }
+        };
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        Object stream = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (stream instanceof DigestInputStream) {
+            DigestInputStream digestStream = (DigestInputStream) stream;
+            try {
+                // The converter may stop reading at the end of the document
+                digestStream.transferTo(OutputStream.nullOutputStream());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            attributes.setAttribute(ATTRIBUTE, digestStream.getMessageDigest().digest(), RequestAttributes.SCOPE_REQUEST);
+        }
+        return body;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
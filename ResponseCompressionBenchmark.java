@@ -0,0 +1,83 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.filter.ContentCoding;
+import com.example.taskmanager.model.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of each content coding on a realistic {@code GET /tasks} payload.
+ * The setup prints the compressed size per configuration for the bytes side of the trade-off.
+ * Run with the {@code main} method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseCompressionBenchmark {
+
+    @Param({"GZIP:1", "GZIP:6", "ZSTD:1", "ZSTD:3"})
+    private String codec;
+
+    @Param({"1000"})
+    private int taskCount;
+
+    private ContentCoding coding;
+    private int level;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] parts = codec.split(":");
+        coding = ContentCoding.valueOf(parts[0]);
+        level = Integer.parseInt(parts[1]);
+
+        ObjectMapper mapper = new Jackson2ObjectMapperBuilder()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setDescription("Synchronise inventory batch " + i + " with the warehouse service");
+            task.setStatus(Task.Status.values()[i % Task.Status.values().length]);
+            task.setDueDate(LocalDate.of(2030, 1, 1).plusDays(i % 365));
+            tasks.add(task);
+        }
+        payload = mapper.writeValueAsBytes(tasks);
+
+        int compressed = compress().length;
+        System.out.printf("%n%s: %d -> %d bytes (%.1f%%)%n",
+                codec, payload.length, compressed, 100.0 * compressed / payload.length);
+    }
+
+    @Benchmark
+    public byte[] compress() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(payload.length / 4);
+        try (OutputStream out = coding.wrap(bytes, level)) {
+            out.write(payload);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ResponseCompressionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
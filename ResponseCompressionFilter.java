@@ -0,0 +1,317 @@
+package com.example.taskmanager.filter;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compresses large responses with the best content coding the client accepts.
+ * The first {@code minResponseSize} bytes are held back to decide whether compression
+ * is worth it; after that the body is streamed through the codec straight to the
+ * servlet output, so large lists and exports are never fully buffered.
+ */
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    private final int minResponseSize;
+    private final Map<ContentCoding, Integer> levels;
+    private final Set<String> mimeTypes;
+
+    /**
+     * @param minResponseSize responses smaller than this are sent uncompressed
+     * @param levels enabled codings and their compression level
+     * @param mimeTypes content types (without parameters) eligible for compression
+     */
+    public ResponseCompressionFilter(int minResponseSize, Map<ContentCoding, Integer> levels, Set<String> mimeTypes) {
+        this.minResponseSize = minResponseSize;
+        this.levels = new EnumMap<>(levels);
+        this.mimeTypes = Set.copyOf(mimeTypes);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCoding coding = negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (coding == null || "HEAD".equals(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        CompressingResponseWrapper wrapper = new CompressingResponseWrapper(response, coding);
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            wrapper.finish();
+        }
+    }
+
+    /**
+     * Pick the preferred enabled coding listed in an {@code Accept-Encoding} header
+     */
+    ContentCoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+        ContentCoding best = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (isRejected(tokens)) {
+                continue;
+            }
+            for (ContentCoding coding : levels.keySet()) {
+                if (coding.getToken().equalsIgnoreCase(tokens[0].trim())
+                        && (best == null || coding.ordinal() < best.ordinal())) {
+                    best = coding;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static boolean isRejected(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String param = tokens[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2)) <= 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isCompressible(HttpServletResponse response) {
+        if (response.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            return false;
+        }
+        int status = response.getStatus();
+        if (status == HttpServletResponse.SC_NO_CONTENT || status == HttpServletResponse.SC_NOT_MODIFIED) {
+            return false;
+        }
+        String contentType = response.getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return mimeTypes.contains(mediaType.getType() + "/" + mediaType.getSubtype());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Response wrapper that defers the compress/pass-through decision until
+     * the threshold is crossed or the response completes.
+     */
+    private final class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+        private final ContentCoding coding;
+        private CompressingOutputStream stream;
+        private PrintWriter writer;
+        private long contentLength = -1;
+
+        CompressingResponseWrapper(HttpServletResponse response, ContentCoding coding) {
+            super(response);
+            this.coding = coding;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called");
+            }
+            if (stream == null) {
+                stream = new CompressingOutputStream(this);
+            }
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (stream != null) {
+                    throw new IllegalStateException("getOutputStream() has already been called");
+                }
+                stream = new CompressingOutputStream(this);
+                writer = new PrintWriter(new OutputStreamWriter(stream, getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            contentLength = len;
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            contentLength = len;
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                contentLength = Long.parseLong(value);
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                contentLength = Long.parseLong(value);
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            } else if (stream != null) {
+                stream.flush();
+            }
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (stream != null) {
+                stream.finish();
+            } else if (contentLength >= 0) {
+                super.setContentLengthLong(contentLength);
+            }
+        }
+
+        OutputStream rawOutputStream() throws IOException {
+            return super.getOutputStream();
+        }
+
+        void passThrough(long length) {
+            super.setContentLengthLong(contentLength >= 0 ? contentLength : length);
+        }
+
+        void passThrough() {
+            if (contentLength >= 0) {
+                super.setContentLengthLong(contentLength);
+            }
+        }
+
+        void beginCompression() {
+            super.setHeader(HttpHeaders.CONTENT_ENCODING, coding.getToken());
+            super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    private final class CompressingOutputStream extends ServletOutputStream {
+
+        private final CompressingResponseWrapper response;
+        private byte[] buffer;
+        private int count;
+        private OutputStream target;
+        private boolean finished;
+
+        CompressingOutputStream(CompressingResponseWrapper response) {
+            this.response = response;
+            this.buffer = new byte[Math.max(minResponseSize, 1)];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (target == null && count < minResponseSize) {
+                buffer[count++] = (byte) b;
+                return;
+            }
+            open().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (target == null && count + len <= minResponseSize) {
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+                return;
+            }
+            open().write(b, off, len);
+        }
+
+        /**
+         * Buffered bytes are held until the threshold decision is made, so a
+         * flush before then only takes effect once the stream is open.
+         */
+        @Override
+        public void flush() throws IOException {
+            if (target != null) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (target == null) {
+                response.passThrough(count);
+                OutputStream raw = response.rawOutputStream();
+                raw.write(buffer, 0, count);
+                buffer = null;
+                raw.flush();
+                return;
+            }
+            target.close();
+        }
+
+        private OutputStream open() throws IOException {
+            if (target != null) {
+                return target;
+            }
+            OutputStream raw = response.rawOutputStream();
+            if (isCompressible(response)) {
+                response.beginCompression();
+                target = response.coding.wrap(raw, levels.get(response.coding));
+            } else {
+                response.passThrough();
+                target = raw;
+            }
+            target.write(buffer, 0, count);
+            buffer = null;
+            return target;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("Asynchronous writes are not supported");
+        }
+    }
+}
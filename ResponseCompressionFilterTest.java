@@ -0,0 +1,127 @@
+package com.example.taskmanager.filter;
+
+import com.github.luben.zstd.ZstdInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCompressionFilterTest {
+
+    private static final int MIN_SIZE = 256;
+
+    private ResponseCompressionFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ResponseCompressionFilter(MIN_SIZE,
+                Map.of(ContentCoding.GZIP, 1, ContentCoding.ZSTD, 3),
+                Set.of("application/json"));
+        request = new MockHttpServletRequest("GET", "/tasks");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void largeJson_gzipAccepted_shouldCompress() throws Exception {
+        request.addHeader("Accept-Encoding", "gzip");
+        byte[] body = jsonBody(4096);
+
+        filter.doFilter(request, response, writing("application/json", body));
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertArrayEquals(body, decompress(new GZIPInputStream(input())));
+    }
+
+    @Test
+    void largeJson_zstdAndGzipAccepted_shouldPreferZstd() throws Exception {
+        request.addHeader("Accept-Encoding", "gzip, deflate, br, zstd");
+        byte[] body = jsonBody(4096);
+
+        filter.doFilter(request, response, writing("application/json", body));
+
+        assertEquals("zstd", response.getHeader("Content-Encoding"));
+        assertArrayEquals(body, decompress(new ZstdInputStream(input())));
+    }
+
+    @Test
+    void zstdWithZeroQuality_shouldFallBackToGzip() {
+        assertEquals(ContentCoding.GZIP, filter.negotiate("zstd;q=0, gzip;q=0.5"));
+    }
+
+    @Test
+    void smallResponse_shouldNotCompress() throws Exception {
+        request.addHeader("Accept-Encoding", "gzip");
+        byte[] body = jsonBody(MIN_SIZE - 1);
+
+        filter.doFilter(request, response, writing("application/json", body));
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(body.length, response.getContentLength());
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    @Test
+    void noAcceptEncoding_shouldNotCompress() throws Exception {
+        byte[] body = jsonBody(4096);
+
+        filter.doFilter(request, response, writing("application/json", body));
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    @Test
+    void nonCompressibleType_shouldNotCompress() throws Exception {
+        request.addHeader("Accept-Encoding", "gzip");
+        byte[] body = jsonBody(4096);
+
+        filter.doFilter(request, response, writing("image/png", body));
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    private FilterChain writing(String contentType, byte[] body) {
+        return (req, res) -> {
+            res.setContentType(contentType);
+            // Write in small chunks to exercise the threshold hand-over
+            for (int off = 0; off < body.length; off += 100) {
+                res.getOutputStream().write(body, off, Math.min(100, body.length - off));
+            }
+            res.getOutputStream().flush();
+        };
+    }
+
+    private InputStream input() {
+        return new ByteArrayInputStream(response.getContentAsByteArray());
+    }
+
+    private static byte[] decompress(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] jsonBody(int size) {
+        StringBuilder json = new StringBuilder("[");
+        while (json.length() < size - 1) {
+            json.append("{\"title\":\"Task\",\"status\":\"PENDING\"},");
+        }
+        json.setLength(size - 1);
+        json.append(']');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
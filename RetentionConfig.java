@@ -0,0 +1,34 @@
+package com.example.taskmanager.config;
+
+import com.example.taskmanager.archive.TaskArchive;
+import com.example.taskmanager.archive.TaskRetentionJob;
+import com.example.taskmanager.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Scheduled archival of completed tasks ({@code taskmanager.retention.*}).
+ * Never runs on a replication follower: followers mirror the leader, whose archival
+ * deletes reach them through the mutation stream and whose archive they copy.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+@ConditionalOnExpression("${taskmanager.retention.enabled:false} and '${taskmanager.replication.role:}' != 'follower'")
+public class RetentionConfig {
+
+    @Bean
+    public TaskRetentionJob taskRetentionJob(
+            TaskRepository repository,
+            TaskArchive archive,
+            @Value("${taskmanager.retention.max-age:7d}") Duration maxAge,
+            @Value("${taskmanager.retention.max-done-tasks:10000}") int maxDoneTasks,
+            @Value("${taskmanager.retention.batch-size:500}") int batchSize) {
+        return new TaskRetentionJob(repository, archive, maxAge, maxDoneTasks, batchSize, Clock.systemUTC());
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.taskmanager.config;
+
+import com.example.taskmanager.archive.TaskRetentionJob;
+import com.example.taskmanager.id.TaskIdGenerator;
+import com.example.taskmanager.persistence.WriteBehindWriter;
+import com.example.taskmanager.replication.ReplicationNode;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Startup behaviour shared by all profiles, and the hooks used by the {@code fast-startup}
+ * profile and the AppCDS training run.
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfig {
+
+    /**
+     * Beans that do their work at startup rather than on first use, so they stay eager
+     * under {@code spring.main.lazy-initialization}: the id generator installs itself,
+     * write-behind replays the store, replication attaches to the mutation stream and
+     * the retention job is scheduled.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(TaskIdGenerator.class, WriteBehindWriter.class,
+                ReplicationNode.class, TaskRetentionJob.class);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "taskmanager.startup", name = "exit-after-ready", havingValue = "true")
+    public ExitAfterReadyListener exitAfterReadyListener() {
+        return new ExitAfterReadyListener();
+    }
+}
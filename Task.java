@@ -1,15 +1,23 @@
 package com.example.taskmanager.model;
 
+import com.example.taskmanager.id.TaskIds;
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import java.time.Instant;
 import java.time.LocalDate;
-import java.util.UUID;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 public class Task {
 
     private String id;
+    private String tenantId;
     private String title;
     private String description;
     private Status status;
     private LocalDate dueDate;
+    private Instant completedAt;
+    private Set<String> dependencies;
 
     public enum Status {
         PENDING,
@@ -18,10 +26,47 @@ public class Task {
     }
 
     public Task() {
-        this.id = UUID.randomUUID().toString();
+        this.id = TaskIds.next();
         this.status = Status.PENDING;
     }
 
+    public Task(String title, LocalDate dueDate) {
+        this();
+        this.title = title;
+        this.dueDate = dueDate;
+    }
+
+    private Task(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Create a task from a request body or stored frame. Unlike {@link #Task()} the status is left
+     * unset, so a partial update without a status does not read as a change back to PENDING.
+     */
+    @JsonCreator
+    static Task fromJson() {
+        return new Task(TaskIds.next());
+    }
+
+    private Task(Task source) {
+        this.id = source.id;
+        this.tenantId = source.tenantId;
+        this.title = source.title;
+        this.description = source.description;
+        this.status = source.status;
+        this.dueDate = source.dueDate;
+        this.completedAt = source.completedAt;
+        this.dependencies = source.dependencies == null ? null : new LinkedHashSet<>(source.dependencies);
+    }
+
+    /**
+     * Create a detached copy of this task
+     */
+    public Task copy() {
+        return new Task(this);
+    }
+
     public String getId() {
         return id;
     }
@@ -30,6 +75,17 @@ public class Task {
         this.id = id;
     }
 
+    /**
+     * Tenant owning this task; assigned by the server, null means the default tenant
+     */
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -61,7 +117,23 @@ public class Task {
     public void setDueDate(LocalDate dueDate) {
         this.dueDate = dueDate;
     }
-}
 
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
 
+    /**
+     * Ids of the tasks that must be DONE before this one is ready; null means none
+     */
+    public Set<String> getDependencies() {
+        return dependencies;
+    }
 
+    public void setDependencies(Set<String> dependencies) {
+        this.dependencies = dependencies;
+    }
+}
@@ -0,0 +1,354 @@
+package com.example.taskmanager.archive;
+
+import com.example.taskmanager.id.TaskIdCodec;
+import com.example.taskmanager.model.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Append-only, compressed cold storage for completed tasks.
+ * <p>
+ * The file is a sequence of frames: a type byte, a payload length and a gzip payload.
+ * Task frames hold one batch of tasks as JSON lines; deletion frames hold ids removed
+ * from the archive. An in-memory index maps each archived id to the offset of its
+ * frame, so a lookup decompresses a single batch.
+ * <p>
+ * Frames never change once written, so a replica can mirror the archive by copying the
+ * bytes past its own length ({@link #readFrames}, {@link #appendFrames}).
+ */
+@Component
+public class TaskArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskArchive.class);
+
+    private static final byte TASKS = 'T';
+    private static final byte DELETIONS = 'D';
+    private static final int HEADER_SIZE = 5;
+
+    private final ObjectMapper mapper;
+    private final Path path;
+    private final Map<Object, Long> index = new ConcurrentHashMap<>();
+    private FileChannel channel;
+    private long end;
+
+    @Autowired
+    public TaskArchive(ObjectMapper mapper,
+                       @Value("${taskmanager.archive.path:data/task-archive-${server.port:8080}.bin}") String path) {
+        this(mapper, Paths.get(path));
+    }
+
+    public TaskArchive(ObjectMapper mapper, Path path) {
+        this.mapper = mapper;
+        this.path = path;
+    }
+
+    /**
+     * Open the archive and rebuild the index from existing frames
+     */
+    @PostConstruct
+    public synchronized void open() {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try {
+            openChannel();
+            rebuildIndex();
+            log.info("Opened task archive {} with {} tasks", path, index.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open task archive " + path, e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Durably append a batch of tasks. Returns only once the batch is on disk,
+     * so callers may then drop the tasks from the hot store.
+     */
+    public void append(Collection<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream json = new ByteArrayOutputStream();
+            for (Task task : tasks) {
+                json.write(mapper.writeValueAsBytes(task));
+                json.write('\n');
+            }
+            ByteBuffer frame = frame(TASKS, json.toByteArray());
+            // The index must change together with the file, or a concurrent delete could
+            // drop an entry the file still records (and a restart would bring it back)
+            synchronized (this) {
+                long offset = writeFrame(frame);
+                for (Task task : tasks) {
+                    index.put(TaskIdCodec.compactKey(task.getId()), offset);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to task archive " + path, e);
+        }
+    }
+
+    /**
+     * Find an archived task by id
+     */
+    public Optional<Task> find(String id) {
+        Long offset = index.get(TaskIdCodec.compactKey(id));
+        if (offset == null) {
+            return Optional.empty();
+        }
+        try (BufferedReader reader = readFrame(offset)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.contains(id)) {
+                    Task task = mapper.readValue(line, Task.class);
+                    if (id.equals(task.getId())) {
+                        return Optional.of(task);
+                    }
+                }
+            }
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read task archive " + path, e);
+        }
+    }
+
+    /**
+     * Check if a task is archived
+     */
+    public boolean contains(String id) {
+        return index.containsKey(TaskIdCodec.compactKey(id));
+    }
+
+    /**
+     * Remove a task from the archive
+     * @return true if the task was archived
+     */
+    public boolean delete(String id) {
+        if (!contains(id)) {
+            return false;
+        }
+        try {
+            ByteBuffer frame = frame(DELETIONS, (id + '\n').getBytes(StandardCharsets.UTF_8));
+            synchronized (this) {
+                if (!contains(id)) {
+                    return false;
+                }
+                writeFrame(frame);
+                index.remove(TaskIdCodec.compactKey(id));
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to task archive " + path, e);
+        }
+    }
+
+    /**
+     * Get the number of archived tasks
+     */
+    public long count() {
+        return index.size();
+    }
+
+    /**
+     * Get the length of the archive in bytes; everything below it is complete frames
+     */
+    public synchronized long length() {
+        return end;
+    }
+
+    /**
+     * Read whole frames starting at a frame boundary, e.g. a replica's {@link #length()}
+     * @param maxBytes soft limit on the result; a larger single frame is still returned whole
+     * @return the frames, or an empty array if there are none past {@code offset}
+     */
+    public synchronized byte[] readFrames(long offset, int maxBytes) {
+        if (channel == null || offset >= end) {
+            return new byte[0];
+        }
+        try {
+            long limit = offset;
+            while (limit < end) {
+                long frameEnd = limit + HEADER_SIZE + readFully(limit, HEADER_SIZE).getInt(1);
+                if (limit > offset && frameEnd - offset > maxBytes) {
+                    break;
+                }
+                limit = frameEnd;
+            }
+            return readFully(offset, Math.toIntExact(limit - offset)).array();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read task archive " + path, e);
+        }
+    }
+
+    /**
+     * Append frames read from another archive's {@link #readFrames} and index them
+     * @param offset the offset they were read from, which must be this archive's length
+     */
+    public synchronized void appendFrames(long offset, byte[] frames) {
+        if (offset != end) {
+            throw new IllegalStateException("Frames at offset " + offset + " do not continue archive of length " + end);
+        }
+        try {
+            ensureChannel();
+            ByteBuffer buffer = ByteBuffer.wrap(frames);
+            long position = end;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            channel.force(false);
+            for (long frame = end; frame < position; ) {
+                frame = indexFrame(frame);
+            }
+            end = position;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to task archive " + path, e);
+        }
+    }
+
+    /**
+     * Remove every frame, e.g. before a replica mirrors a different archive
+     */
+    public synchronized void clear() {
+        try {
+            if (channel != null) {
+                channel.truncate(0);
+            }
+            index.clear();
+            end = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to clear task archive " + path, e);
+        }
+    }
+
+    // Compression happens outside the lock; only the write itself is serialized
+    private static ByteBuffer frame(byte type, byte[] content) throws IOException {
+        byte[] payload = gzip(content);
+        return ByteBuffer.allocate(HEADER_SIZE + payload.length)
+                .put(type)
+                .putInt(payload.length)
+                .put(payload)
+                .flip();
+    }
+
+    private long writeFrame(ByteBuffer frame) throws IOException {
+        ensureChannel();
+        long offset = end;
+        long position = offset;
+        while (frame.hasRemaining()) {
+            position += channel.write(frame, position);
+        }
+        channel.force(false);
+        end = position;
+        return offset;
+    }
+
+    private BufferedReader readFrame(long offset) throws IOException {
+        ByteBuffer header = readFully(offset, HEADER_SIZE);
+        header.get();
+        ByteBuffer payload = readFully(offset + HEADER_SIZE, header.getInt());
+        return new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(payload.array())), StandardCharsets.UTF_8));
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of task archive " + path);
+            }
+        }
+        return buffer.flip();
+    }
+
+    private void ensureChannel() throws IOException {
+        if (channel == null) {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            openChannel();
+        }
+    }
+
+    private void openChannel() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        end = channel.size();
+    }
+
+    private void rebuildIndex() throws IOException {
+        long offset = 0;
+        long size = channel.size();
+        while (offset + HEADER_SIZE <= size) {
+            int length = readFully(offset, HEADER_SIZE).getInt(1);
+            if (length < 0 || offset + HEADER_SIZE + length > size) {
+                break;
+            }
+            offset = indexFrame(offset);
+        }
+        if (offset < size) {
+            // A crash mid-append leaves a partial frame at the tail; drop it
+            log.warn("Truncating partial frame at offset {} of task archive {}", offset, path);
+            channel.truncate(offset);
+        }
+        end = offset;
+    }
+
+    // Apply one frame to the index; returns the offset of the next frame
+    private long indexFrame(long offset) throws IOException {
+        ByteBuffer header = readFully(offset, HEADER_SIZE);
+        byte type = header.get();
+        int length = header.getInt();
+        try (BufferedReader reader = readFrame(offset)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (type == TASKS) {
+                    index.put(TaskIdCodec.compactKey(mapper.readValue(line, Task.class).getId()), offset);
+                } else {
+                    index.remove(TaskIdCodec.compactKey(line));
+                }
+            }
+        }
+        return offset + HEADER_SIZE + length;
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.taskmanager.archive;
+
+import com.example.taskmanager.model.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskArchiveTest {
+
+    @TempDir
+    Path dir;
+
+    private ObjectMapper mapper;
+    private Path path;
+    private TaskArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        mapper = new ObjectMapper().findAndRegisterModules();
+        path = dir.resolve("archive.bin");
+        archive = new TaskArchive(mapper, path);
+        archive.open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        archive.close();
+    }
+
+    @Test
+    void append_thenFind_shouldReturnTask() {
+        Task task = doneTask("Archived");
+        archive.append(List.of(task, doneTask("Other")));
+
+        Optional<Task> found = archive.find(task.getId());
+
+        assertTrue(found.isPresent());
+        assertEquals("Archived", found.get().getTitle());
+        assertEquals(task.getCompletedAt(), found.get().getCompletedAt());
+        assertEquals(2, archive.count());
+    }
+
+    @Test
+    void find_unknownId_shouldReturnEmpty() {
+        archive.append(List.of(doneTask("Archived")));
+
+        assertTrue(archive.find("non-existing").isEmpty());
+    }
+
+    @Test
+    void reopen_shouldRebuildIndex() throws IOException {
+        Task kept = doneTask("Kept");
+        Task deleted = doneTask("Deleted");
+        archive.append(List.of(kept, deleted));
+        archive.delete(deleted.getId());
+        archive.close();
+
+        TaskArchive reopened = new TaskArchive(mapper, path);
+        reopened.open();
+
+        assertTrue(reopened.find(kept.getId()).isPresent());
+        assertFalse(reopened.contains(deleted.getId()));
+        reopened.close();
+    }
+
+    @Test
+    void reopen_withPartialTail_shouldTruncateAndKeepEarlierFrames() throws IOException {
+        Task task = doneTask("Archived");
+        archive.append(List.of(task));
+        archive.close();
+        long size = Files.size(path);
+        Files.write(path, new byte[]{'T', 0, 0, 1, 0, 42}, StandardOpenOption.APPEND);
+
+        TaskArchive reopened = new TaskArchive(mapper, path);
+        reopened.open();
+
+        assertTrue(reopened.find(task.getId()).isPresent());
+        assertEquals(size, Files.size(path));
+        reopened.close();
+    }
+
+    @Test
+    void delete_unknownId_shouldReturnFalse() {
+        assertFalse(archive.delete("non-existing"));
+    }
+
+    @Test
+    void appendFrames_shouldMirrorAnotherArchive() throws IOException {
+        Task kept = doneTask("Kept");
+        Task removed = doneTask("Removed");
+        archive.append(List.of(kept));
+        archive.append(List.of(removed));
+        archive.delete(removed.getId());
+
+        TaskArchive replica = new TaskArchive(mapper, dir.resolve("replica.bin"));
+        try {
+            // A tiny limit still returns one whole frame per read
+            while (replica.length() < archive.length()) {
+                replica.appendFrames(replica.length(), archive.readFrames(replica.length(), 1));
+            }
+
+            assertEquals("Kept", replica.find(kept.getId()).orElseThrow().getTitle());
+            assertFalse(replica.contains(removed.getId()));
+            assertEquals(0, archive.readFrames(archive.length(), 1024).length);
+            assertThrows(IllegalStateException.class, () -> replica.appendFrames(0, new byte[0]));
+        } finally {
+            replica.close();
+        }
+    }
+
+    private static Task doneTask(String title) {
+        Task task = new Task(title, LocalDate.now().plusDays(1));
+        task.setStatus(Task.Status.DONE);
+        task.setCompletedAt(Instant.parse("2024-01-01T00:00:00Z"));
+        return task;
+    }
+}
@@ -1,12 +1,17 @@
 package com.example.taskmanager.controller;
 
 import com.example.taskmanager.exception.TaskNotFoundException;
+import com.example.taskmanager.exception.ValidationException;
+import com.example.taskmanager.idempotency.IdempotencyCache;
 import com.example.taskmanager.model.Task;
 import com.example.taskmanager.service.TaskService;
+import com.example.taskmanager.tenant.TenantContext;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,19 +22,68 @@ import java.util.List;
 @RequestMapping("/tasks")
 public class TaskController {
 
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     private final TaskService service;
+    private final IdempotencyCache idempotencyCache;
 
-    public TaskController(TaskService service) {
+    public TaskController(TaskService service, IdempotencyCache idempotencyCache) {
         this.service = service;
+        this.idempotencyCache = idempotencyCache;
     }
 
     /**
-     * POST /tasks - Create a new task
+     * POST /tasks - Create a new task.
+     * Retries carrying the same Idempotency-Key and body get the original response instead of a duplicate.
      */
     @PostMapping
-    public ResponseEntity<Task> create(@RequestBody Task task) {
-        Task created = service.create(task);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    public ResponseEntity<Task> create(
+            @RequestBody Task task,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            HttpServletRequest request) {
+        if (idempotencyKey == null) {
+            Task created = service.create(task);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        }
+        IdempotencyCache.Result<Task> result = idempotencyCache.execute(cacheKey("create:", idempotencyKey),
+                RequestBodyDigestAdvice.digestOf(request), () -> service.create(task).copy());
+        return created(result);
+    }
+
+    /**
+     * POST /tasks/batch - Create several tasks at once, with optional Idempotency-Key
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<Task>> createBatch(
+            @RequestBody List<Task> tasks,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            HttpServletRequest request) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(service.createAll(tasks));
+        }
+        IdempotencyCache.Result<List<Task>> result = idempotencyCache.execute(cacheKey("batch:", idempotencyKey),
+                RequestBodyDigestAdvice.digestOf(request), () -> copyAll(service.createAll(tasks)));
+        return created(result);
+    }
+
+    /**
+     * GET /tasks/ready - Tasks that are not DONE and whose dependencies are all DONE
+     */
+    @GetMapping("/ready")
+    public List<Task> ready(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return page(service.getReady(), page, size);
+    }
+
+    /**
+     * GET /tasks/{id}/blocked-by - Unfinished tasks blocking a task, following dependency chains
+     */
+    @GetMapping("/{id}/blocked-by")
+    public List<Task> blockedBy(@PathVariable String id) {
+        return service.getBlockers(id);
     }
 
     /**
@@ -71,15 +125,47 @@ public class TaskController {
         } else {
             tasks = service.getAll();
         }
+        return page(tasks, page, size);
+    }
 
-        // Apply pagination
-        int start = page * size;
-        int end = Math.min(start + size, tasks.size());
-        
+    private static List<Task> page(List<Task> tasks, int page, int size) {
+        // Admission control rejects these too, but it can be switched off
+        if (size < 1) {
+            throw ValidationException.forField("size", "Page size must be at least 1");
+        }
+        if (page < 0) {
+            throw ValidationException.forField("page", "Page must not be negative");
+        }
+        long start = (long) page * size;
         if (start >= tasks.size()) {
             return List.of();
         }
 
-        return tasks.subList(start, end);
+        return tasks.subList((int) start, (int) Math.min(start + size, tasks.size()));
+    }
+
+    // Keys are chosen by clients, so they only identify a request within the caller's tenant.
+    // Tenant ids never contain ':', which keeps the combined key unambiguous.
+    private static String cacheKey(String operation, String key) {
+        if (key.isBlank() || key.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw ValidationException.forField(IDEMPOTENCY_KEY,
+                    "Idempotency-Key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        return operation + TenantContext.current() + ':' + key;
+    }
+
+    private static <T> ResponseEntity<T> created(IdempotencyCache.Result<T> result) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(result.isReplayed()))
+                .body(result.getValue());
+    }
+
+    // Snapshot the response so later updates don't leak into replays
+    private static List<Task> copyAll(List<Task> tasks) {
+        List<Task> copies = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            copies.add(task.copy());
+        }
+        return copies;
     }
 }
@@ -1,16 +1,23 @@
 package com.example.taskmanager.controller;
 
+import com.example.taskmanager.exception.IdempotencyKeyReusedException;
 import com.example.taskmanager.exception.TaskNotFoundException;
+import com.example.taskmanager.exception.ValidationException;
+import com.example.taskmanager.idempotency.IdempotencyCache;
 import com.example.taskmanager.model.Task;
 import com.example.taskmanager.service.TaskService;
+import com.example.taskmanager.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -26,9 +33,14 @@ class TaskControllerTest {
     @Mock
     private TaskService service;
 
+    @Spy
+    private IdempotencyCache idempotencyCache = new IdempotencyCache(100, 60, 1000);
+
     @InjectMocks
     private TaskController controller;
 
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
     private Task testTask;
 
     @BeforeEach
@@ -38,18 +50,89 @@ class TaskControllerTest {
         testTask.setDueDate(LocalDate.now().plusDays(1));
     }
 
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
     // ===== CREATE TESTS =====
     @Test
     void create_validTask_shouldReturn201() {
         when(service.create(any(Task.class))).thenReturn(testTask);
 
-        ResponseEntity<Task> response = controller.create(testTask);
+        ResponseEntity<Task> response = controller.create(testTask, null, request);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(testTask.getTitle(), response.getBody().getTitle());
     }
 
+    @Test
+    void create_repeatedIdempotencyKey_shouldReplayOriginal() {
+        when(service.create(any(Task.class))).thenReturn(testTask);
+
+        ResponseEntity<Task> first = controller.create(testTask, "key-1", request);
+        ResponseEntity<Task> retry = controller.create(new Task(), "key-1", request);
+
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals("false", first.getHeaders().getFirst(TaskController.IDEMPOTENT_REPLAYED));
+        assertEquals("true", retry.getHeaders().getFirst(TaskController.IDEMPOTENT_REPLAYED));
+        assertNotNull(retry.getBody());
+        assertEquals(testTask.getId(), retry.getBody().getId());
+        verify(service, times(1)).create(any(Task.class));
+    }
+
+    @Test
+    void create_sameIdempotencyKeyInAnotherTenant_shouldNotReplay() {
+        Task other = new Task();
+        other.setTitle("Other tenant");
+        when(service.create(testTask)).thenReturn(testTask);
+        when(service.create(other)).thenReturn(other);
+
+        TenantContext.set("a");
+        ResponseEntity<Task> first = controller.create(testTask, "key-1", request);
+        TenantContext.set("b");
+        ResponseEntity<Task> second = controller.create(other, "key-1", request);
+
+        assertEquals("Other tenant", second.getBody().getTitle());
+        assertEquals("false", second.getHeaders().getFirst(TaskController.IDEMPOTENT_REPLAYED));
+        assertEquals("Test Task", first.getBody().getTitle());
+        verify(service, times(1)).create(other);
+    }
+
+    @Test
+    void create_sameIdempotencyKeyWithDifferentBody_shouldReject() {
+        when(service.create(any(Task.class))).thenReturn(testTask);
+        request.setAttribute(RequestBodyDigestAdvice.ATTRIBUTE, new byte[] {1});
+        controller.create(testTask, "key-1", request);
+
+        MockHttpServletRequest changed = new MockHttpServletRequest();
+        changed.setAttribute(RequestBodyDigestAdvice.ATTRIBUTE, new byte[] {2});
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> controller.create(new Task(), "key-1", changed));
+        verify(service, times(1)).create(any(Task.class));
+    }
+
+    @Test
+    void create_blankIdempotencyKey_shouldThrowValidationException() {
+        assertThrows(ValidationException.class, () -> controller.create(testTask, " ", request));
+
+        verify(service, never()).create(any(Task.class));
+    }
+
+    @Test
+    void createBatch_repeatedIdempotencyKey_shouldCreateOnce() {
+        List<Task> tasks = List.of(testTask);
+        when(service.createAll(tasks)).thenReturn(tasks);
+
+        controller.createBatch(tasks, "batch-1", request);
+        ResponseEntity<List<Task>> retry = controller.createBatch(tasks, "batch-1", request);
+
+        assertNotNull(retry.getBody());
+        assertEquals(1, retry.getBody().size());
+        verify(service, times(1)).createAll(tasks);
+    }
+
     // ===== GET TESTS =====
     @Test
     void get_validId_shouldReturnTask() {
@@ -181,4 +264,43 @@ class TaskControllerTest {
 
         assertTrue(result.isEmpty());
     }
+
+    @Test
+    void list_negativePageSize_shouldThrowValidationException() {
+        when(service.getAll()).thenReturn(List.of(testTask));
+
+        ValidationException e = assertThrows(ValidationException.class, () -> controller.list(null, 0, -1));
+
+        assertEquals("size", e.getField());
+    }
+
+    @Test
+    void list_hugePage_shouldReturnEmpty() {
+        when(service.getAll()).thenReturn(List.of(testTask));
+
+        assertTrue(controller.list(null, Integer.MAX_VALUE, 10).isEmpty());
+    }
+
+    // ===== DEPENDENCY TESTS =====
+    @Test
+    void ready_shouldPaginateReadyTasks() {
+        List<Task> tasks = new java.util.ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            tasks.add(new Task("Task " + i, LocalDate.now().plusDays(1)));
+        }
+        when(service.getReady()).thenReturn(tasks);
+
+        List<Task> result = controller.ready(1, 10);
+
+        assertEquals(5, result.size());
+    }
+
+    @Test
+    void blockedBy_shouldReturnBlockers() {
+        when(service.getBlockers("123")).thenReturn(List.of(testTask));
+
+        List<Task> result = controller.blockedBy("123");
+
+        assertEquals(List.of(testTask), result);
+    }
 }
@@ -0,0 +1,227 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.model.Task;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dependency graph of one tenant's tasks in a {@link TaskRepository}.
+ * <p>
+ * Keeps forward ({@code task -> its dependencies}) and reverse ({@code task -> its dependents})
+ * adjacency, and for every task the number of dependencies that still block it. A dependency
+ * blocks while it is stored and not DONE; missing dependencies (deleted or archived) count as
+ * satisfied. When a task changes status only its direct dependents are adjusted, so the
+ * ready set is maintained incrementally instead of being recomputed over the whole graph.
+ * <p>
+ * Dependencies never cross tenants. Writes must be serialized by the owning repository;
+ * reads are safe from any thread.
+ */
+public class TaskDependencyIndex {
+
+    private final Map<String, Set<String>> dependencies = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> dependents = new ConcurrentHashMap<>();
+    private final Map<String, Integer> unmet = new ConcurrentHashMap<>();
+    private final Set<String> done = ConcurrentHashMap.newKeySet();
+    private final Set<String> ready = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Find the cycle that giving a task these dependencies would close
+     * @return the cycle as a path starting and ending at {@code id}, or empty if there is none
+     */
+    public Optional<List<String>> findCycle(String id, Collection<String> newDependencies) {
+        return findCycle(id, newDependencies, Collections.emptyMap());
+    }
+
+    /**
+     * Find the cycle that giving a task these dependencies would close, as if the pending
+     * edges (e.g. of earlier tasks in the same batch) had already been saved
+     * @param pending dependencies by task id, replacing the stored ones; already checked to be acyclic
+     */
+    public Optional<List<String>> findCycle(String id, Collection<String> newDependencies,
+                                            Map<String, Set<String>> pending) {
+        if (newDependencies == null || newDependencies.isEmpty()) {
+            return Optional.empty();
+        }
+        Set<String> current = edges(id, pending);
+        for (String dependency : newDependencies) {
+            if (current.contains(dependency)) {
+                // Existing edges are already known to be acyclic
+                continue;
+            }
+            List<String> path = pathTo(dependency, id, pending);
+            if (path != null) {
+                path.add(0, id);
+                return Optional.of(path);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Record a stored task, replacing its previous edges and status
+     */
+    public void onSave(Task task) {
+        String id = task.getId();
+        Set<String> previous = dependencies.get(id);
+        boolean wasBlocking = previous != null && !done.contains(id);
+        Set<String> next = task.getDependencies() == null
+                ? Collections.emptySet()
+                : Set.copyOf(task.getDependencies());
+        dependencies.put(id, next);
+
+        int count = unmet.getOrDefault(id, 0);
+        if (previous != null) {
+            for (String dependency : previous) {
+                if (!next.contains(dependency)) {
+                    removeDependent(dependency, id);
+                    if (isBlocking(dependency)) {
+                        count--;
+                    }
+                }
+            }
+        }
+        for (String dependency : next) {
+            if (previous == null || !previous.contains(dependency)) {
+                dependents.computeIfAbsent(dependency, key -> ConcurrentHashMap.newKeySet()).add(id);
+                if (isBlocking(dependency)) {
+                    count++;
+                }
+            }
+        }
+        unmet.put(id, count);
+
+        boolean blocking = task.getStatus() != Task.Status.DONE;
+        if (blocking) {
+            done.remove(id);
+        } else {
+            done.add(id);
+        }
+        refresh(id);
+        if (blocking != wasBlocking) {
+            adjustDependents(id, blocking ? 1 : -1);
+        }
+    }
+
+    /**
+     * Forget a deleted task; tasks depending on it are no longer blocked by it
+     */
+    public void onDelete(String id) {
+        Set<String> previous = dependencies.remove(id);
+        if (previous == null) {
+            return;
+        }
+        boolean wasBlocking = !done.remove(id);
+        for (String dependency : previous) {
+            removeDependent(dependency, id);
+        }
+        unmet.remove(id);
+        ready.remove(id);
+        if (wasBlocking) {
+            adjustDependents(id, -1);
+        }
+    }
+
+    /**
+     * Get the ids of tasks that are not DONE and have no unfinished dependencies
+     */
+    public Set<String> readyIds() {
+        return Collections.unmodifiableSet(ready);
+    }
+
+    /**
+     * Get the unfinished tasks that transitively block a task, nearest first.
+     * Traversal stops at DONE or missing tasks, whose own dependencies no longer matter.
+     */
+    public List<String> blockers(String id) {
+        List<String> result = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(id);
+        seen.add(id);
+        while (!queue.isEmpty()) {
+            for (String dependency : dependencies.getOrDefault(queue.poll(), Collections.emptySet())) {
+                if (isBlocking(dependency) && seen.add(dependency)) {
+                    result.add(dependency);
+                    queue.add(dependency);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the direct dependents of a task
+     */
+    public Set<String> dependentsOf(String id) {
+        return Collections.unmodifiableSet(dependents.getOrDefault(id, Collections.emptySet()));
+    }
+
+    /**
+     * Get the number of direct dependencies still blocking a task
+     */
+    public int unmetCount(String id) {
+        return unmet.getOrDefault(id, 0);
+    }
+
+    private boolean isBlocking(String id) {
+        return dependencies.containsKey(id) && !done.contains(id);
+    }
+
+    private void adjustDependents(String id, int delta) {
+        for (String dependent : dependents.getOrDefault(id, Collections.emptySet())) {
+            if (dependencies.containsKey(dependent)) {
+                unmet.merge(dependent, delta, Integer::sum);
+                refresh(dependent);
+            }
+        }
+    }
+
+    private void refresh(String id) {
+        if (dependencies.containsKey(id) && !done.contains(id) && unmet.getOrDefault(id, 0) == 0) {
+            ready.add(id);
+        } else {
+            ready.remove(id);
+        }
+    }
+
+    private void removeDependent(String dependency, String dependent) {
+        Set<String> set = dependents.get(dependency);
+        if (set != null) {
+            set.remove(dependent);
+            if (set.isEmpty()) {
+                dependents.remove(dependency);
+            }
+        }
+    }
+
+    // Depth-first search along dependency edges; returns the path from -> ... -> to, or null
+    private List<String> pathTo(String from, String to, Map<String, Set<String>> pending) {
+        Map<String, String> parent = new HashMap<>();
+        Deque<String> stack = new ArrayDeque<>();
+        stack.push(from);
+        parent.put(from, null);
+        while (!stack.isEmpty()) {
+            String node = stack.pop();
+            if (node.equals(to)) {
+                LinkedList<String> path = new LinkedList<>();
+                for (String step = node; step != null; step = parent.get(step)) {
+                    path.addFirst(step);
+                }
+                return path;
+            }
+            for (String next : edges(node, pending)) {
+                if (!parent.containsKey(next)) {
+                    parent.put(next, node);
+                    stack.push(next);
+                }
+            }
+        }
+        return null;
+    }
+
+    private Set<String> edges(String id, Map<String, Set<String>> pending) {
+        Set<String> edges = pending.get(id);
+        return edges != null ? edges : dependencies.getOrDefault(id, Collections.emptySet());
+    }
+}
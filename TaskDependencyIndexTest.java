@@ -0,0 +1,129 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskDependencyIndexTest {
+
+    private TaskDependencyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskDependencyIndex();
+    }
+
+    @Test
+    void taskWithoutDependencies_shouldBeReady() {
+        index.onSave(task("a", Task.Status.PENDING));
+
+        assertEquals(Set.of("a"), index.readyIds());
+    }
+
+    @Test
+    void dependencyDone_shouldMakeDependentReady() {
+        index.onSave(task("a", Task.Status.PENDING));
+        index.onSave(task("b", Task.Status.PENDING, "a"));
+        assertEquals(Set.of("a"), index.readyIds());
+        assertEquals(1, index.unmetCount("b"));
+
+        index.onSave(task("a", Task.Status.DONE));
+
+        assertEquals(Set.of("b"), index.readyIds());
+        assertEquals(0, index.unmetCount("b"));
+    }
+
+    @Test
+    void dependencyReopened_shouldBlockDependentAgain() {
+        index.onSave(task("a", Task.Status.DONE));
+        index.onSave(task("b", Task.Status.PENDING, "a"));
+        assertTrue(index.readyIds().contains("b"));
+
+        index.onSave(task("a", Task.Status.IN_PROGRESS));
+
+        assertEquals(Set.of("a"), index.readyIds());
+    }
+
+    @Test
+    void missingOrDeletedDependency_shouldCountAsSatisfied() {
+        index.onSave(task("b", Task.Status.PENDING, "archived"));
+        assertTrue(index.readyIds().contains("b"));
+
+        index.onSave(task("a", Task.Status.PENDING));
+        index.onSave(task("c", Task.Status.PENDING, "a"));
+        index.onDelete("a");
+
+        assertEquals(Set.of("b", "c"), index.readyIds());
+    }
+
+    @Test
+    void dependencyStoredAfterDependent_shouldBlockIt() {
+        index.onSave(task("b", Task.Status.PENDING, "a"));
+
+        index.onSave(task("a", Task.Status.PENDING));
+
+        assertEquals(Set.of("a"), index.readyIds());
+        assertEquals(1, index.unmetCount("b"));
+    }
+
+    @Test
+    void changingDependencies_shouldUpdateReverseEdges() {
+        index.onSave(task("a", Task.Status.PENDING));
+        index.onSave(task("b", Task.Status.PENDING));
+        index.onSave(task("c", Task.Status.PENDING, "a"));
+
+        index.onSave(task("c", Task.Status.PENDING, "b"));
+
+        assertTrue(index.dependentsOf("a").isEmpty());
+        assertEquals(Set.of("c"), index.dependentsOf("b"));
+        assertEquals(1, index.unmetCount("c"));
+
+        index.onSave(task("c", Task.Status.PENDING));
+
+        assertTrue(index.readyIds().contains("c"));
+    }
+
+    @Test
+    void findCycle_shouldReturnClosingPath() {
+        index.onSave(task("a", Task.Status.PENDING));
+        index.onSave(task("b", Task.Status.PENDING, "a"));
+        index.onSave(task("c", Task.Status.PENDING, "b"));
+
+        Optional<List<String>> cycle = index.findCycle("a", Set.of("c"));
+
+        assertEquals(List.of("a", "c", "b", "a"), cycle.orElseThrow());
+        assertTrue(index.findCycle("c", Set.of("a")).isEmpty());
+        assertTrue(index.findCycle("a", Set.of("a")).isPresent());
+    }
+
+    @Test
+    void blockers_shouldFollowUnfinishedChainNearestFirst() {
+        index.onSave(task("a", Task.Status.PENDING));
+        index.onSave(task("b", Task.Status.IN_PROGRESS, "a"));
+        index.onSave(task("c", Task.Status.PENDING, "b"));
+        index.onSave(task("d", Task.Status.PENDING, "c"));
+
+        assertEquals(List.of("c", "b", "a"), index.blockers("d"));
+
+        index.onSave(task("b", Task.Status.DONE, "a"));
+
+        assertEquals(List.of("c"), index.blockers("d"));
+    }
+
+    private static Task task(String id, Task.Status status, String... dependencies) {
+        Task task = new Task("Task " + id, LocalDate.now().plusDays(1));
+        task.setId(id);
+        task.setStatus(status);
+        if (dependencies.length > 0) {
+            task.setDependencies(Set.of(dependencies));
+        }
+        return task;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.taskmanager.id;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Compact binary form of task ids for storage.
+ * A leading tag byte tells the two forms apart: canonical UUID strings (36 chars) encode to
+ * the tag and their 16 raw bytes; any other client-supplied id to the tag and its UTF-8 bytes,
+ * so encoding is always reversible, whatever the length of a custom id.
+ */
+public final class TaskIdCodec {
+
+    public static final int ENCODED_UUID_LENGTH = 17;
+
+    private static final byte UUID_TAG = 1;
+    private static final byte TEXT_TAG = 0;
+
+    private TaskIdCodec() {
+    }
+
+    /**
+     * Encode an id to bytes
+     */
+    public static byte[] toBytes(String id) {
+        UUID uuid = parseUuid(id);
+        if (uuid == null) {
+            byte[] text = id.getBytes(StandardCharsets.UTF_8);
+            return ByteBuffer.allocate(1 + text.length)
+                    .put(TEXT_TAG)
+                    .put(text)
+                    .array();
+        }
+        return ByteBuffer.allocate(ENCODED_UUID_LENGTH)
+                .put(UUID_TAG)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    /**
+     * Decode bytes produced by {@link #toBytes(String)}
+     */
+    public static String fromBytes(byte[] bytes) {
+        if (bytes.length == ENCODED_UUID_LENGTH && bytes[0] == UUID_TAG) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, ENCODED_UUID_LENGTH - 1);
+            return new UUID(buffer.getLong(), buffer.getLong()).toString();
+        }
+        if (bytes.length == 0 || bytes[0] != TEXT_TAG) {
+            throw new IllegalArgumentException("Not an encoded task id");
+        }
+        return new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compact in-memory key for indexes that do not hold the Task itself:
+     * a {@link UUID} (two longs) for canonical UUID ids, the id string otherwise
+     */
+    public static Object compactKey(String id) {
+        UUID uuid = parseUuid(id);
+        return uuid != null ? uuid : id;
+    }
+
+    /**
+     * Parse an id if it is a canonical lower-case UUID string, so the round trip is exact
+     * @return the UUID, or null for any other id
+     */
+    public static UUID parseUuid(String id) {
+        if (id == null || id.length() != 36) {
+            return null;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = id.charAt(i);
+            boolean dash = i == 8 || i == 13 || i == 18 || i == 23;
+            if (dash ? c != '-' : !((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return null;
+            }
+        }
+        return UUID.fromString(id);
+    }
+}
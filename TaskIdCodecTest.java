@@ -0,0 +1,40 @@
+package com.example.taskmanager.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskIdCodecTest {
+
+    @Test
+    void uuidId_shouldEncodeToTagAnd16Bytes() {
+        String id = UUID.randomUUID().toString();
+
+        byte[] bytes = TaskIdCodec.toBytes(id);
+
+        assertEquals(TaskIdCodec.ENCODED_UUID_LENGTH, bytes.length);
+        assertEquals(id, TaskIdCodec.fromBytes(bytes));
+    }
+
+    @Test
+    void customId_shouldRoundTrip() {
+        byte[] bytes = TaskIdCodec.toBytes("123");
+
+        assertEquals("123", TaskIdCodec.fromBytes(bytes));
+    }
+
+    @Test
+    void sixteenCharacterCustomId_shouldRoundTrip() {
+        assertEquals("abcdefghijklmnop", TaskIdCodec.fromBytes(TaskIdCodec.toBytes("abcdefghijklmnop")));
+    }
+
+    @Test
+    void upperCaseUuid_shouldNotBeTreatedAsUuid() {
+        String id = UUID.randomUUID().toString().toUpperCase();
+
+        assertNull(TaskIdCodec.parseUuid(id));
+        assertEquals(id, TaskIdCodec.fromBytes(TaskIdCodec.toBytes(id)));
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.taskmanager.id;
+
+/**
+ * Strategy for generating new task ids.
+ */
+public interface TaskIdGenerator {
+
+    /**
+     * Generate a new unique id
+     * @return the id in its string form
+     */
+    String nextId();
+}
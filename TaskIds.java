@@ -0,0 +1,47 @@
+package com.example.taskmanager.id;
+
+/**
+ * Holder for the id generator used by new tasks.
+ * Tasks are instantiated by Jackson as well as by application code, so the
+ * generator is installed once at startup rather than injected per instance.
+ */
+public final class TaskIds {
+
+    public static final String RANDOM = "random";
+    public static final String TIME_ORDERED = "time-ordered";
+
+    private static volatile TaskIdGenerator generator = new TimeOrderedIdGenerator();
+
+    private TaskIds() {
+    }
+
+    /**
+     * Generate an id with the installed generator
+     */
+    public static String next() {
+        return generator.nextId();
+    }
+
+    /**
+     * Install the generator used for all subsequently created tasks
+     */
+    public static void install(TaskIdGenerator idGenerator) {
+        generator = idGenerator;
+    }
+
+    /**
+     * Create a generator by its configuration name
+     * @param name {@value #RANDOM} or {@value #TIME_ORDERED}
+     * @return the generator
+     */
+    public static TaskIdGenerator named(String name) {
+        switch (name) {
+            case RANDOM:
+                return new RandomUuidGenerator();
+            case TIME_ORDERED:
+                return new TimeOrderedIdGenerator();
+            default:
+                throw new IllegalArgumentException("Unknown task id generator '" + name + "'");
+        }
+    }
+}
@@ -1,4 +1,4 @@
-
+package com.example.taskmanager;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -7,7 +7,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * Main entry point for the Task Management API application.
  * This class starts the Spring Boot application.
  */
-@SpringBootApplication
+@SpringBootApplication(proxyBeanMethods = false)
 public class TaskManagerApplication {
 
     public static void main(String[] args) {
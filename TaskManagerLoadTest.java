@@ -0,0 +1,122 @@
+package com.example.taskmanager.loadtest;
+
+import com.example.taskmanager.TaskManagerApplication;
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load test: boots the application on a random port, drives a mixed workload at
+ * a fixed arrival rate and compares p99 latency and throughput with a stored baseline.
+ * <p>
+ * Excluded from the default build; run with {@code mvn test -Ploadtest}. Tunable with
+ * {@code -Dloadtest.rate}, {@code .duration}, {@code .warmup}, {@code .mix},
+ * {@code .concurrency}, {@code .tolerance} and {@code .baseline}. Pass
+ * {@code -Dloadtest.record=<path>} to write a new baseline instead of checking it.
+ */
+@Tag("load")
+class TaskManagerLoadTest {
+
+    @TempDir
+    Path dir;
+
+    private ConfigurableApplicationContext context;
+    private LoadGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        context = new SpringApplicationBuilder(TaskManagerApplication.class).run(
+                "--server.port=0",
+                "--taskmanager.admission.enabled=false",
+                "--taskmanager.retention.enabled=false",
+                "--taskmanager.archive.path=" + dir.resolve("archive.bin"),
+                "--logging.level.root=WARN");
+
+        TaskService service = context.getBean(TaskService.class);
+        List<String> ids = new ArrayList<>();
+        Task.Status[] statuses = Task.Status.values();
+        for (int i = 0; i < Integer.getInteger("loadtest.seed-tasks", 2000); i++) {
+            Task task = new Task("Seed " + i, LocalDate.now().plusDays(1 + i % 60));
+            task.setStatus(statuses[i % statuses.length]);
+            ids.add(service.create(task).getId());
+        }
+
+        String url = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+        generator = new LoadGenerator(url,
+                LoadMix.parse(System.getProperty("loadtest.mix", "read=50,write=20,list=20,search=10")),
+                ids, Integer.getInteger("loadtest.concurrency", 32));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (generator != null) {
+            generator.close();
+        }
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void mixedWorkload_shouldNotRegressAgainstBaseline() throws Exception {
+        String record = System.getProperty("loadtest.record");
+        Properties baseline = record == null ? baseline() : new Properties();
+        // Throughput is only comparable at the arrival rate the baseline was recorded with
+        int rate = Integer.getInteger("loadtest.rate", Integer.parseInt(baseline.getProperty("rate", "200")));
+        generator.run(rate, Duration.parse(System.getProperty("loadtest.warmup", "PT5S")));
+
+        LoadResult result = generator.run(rate, Duration.parse(System.getProperty("loadtest.duration", "PT15S")));
+        System.out.println("Load test at " + rate + "/s: " + result);
+
+        if (record != null) {
+            Properties recorded = result.toProperties();
+            recorded.setProperty("rate", Integer.toString(rate));
+            try (OutputStream out = Files.newOutputStream(Paths.get(record))) {
+                recorded.store(out, "Task manager load test baseline");
+            }
+            return;
+        }
+
+        double tolerance = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.25"));
+        long baselineP99 = Long.parseLong(baseline.getProperty("p99-micros"));
+        double baselineThroughput = Double.parseDouble(baseline.getProperty("throughput"));
+
+        assertEquals(0, result.getErrors(), "Requests failed during the run");
+        assertTrue(result.getP99Micros() <= baselineP99 * (1 + tolerance),
+                "p99 regressed: " + result.getP99Micros() + "us vs baseline " + baselineP99 + "us");
+        assertTrue(result.getThroughput() >= baselineThroughput * (1 - tolerance),
+                "Throughput regressed: " + result.getThroughput() + "/s vs baseline " + baselineThroughput + "/s");
+    }
+
+    private static Properties baseline() throws IOException {
+        Properties properties = new Properties();
+        String path = System.getProperty("loadtest.baseline");
+        try (InputStream in = path != null
+                ? Files.newInputStream(Paths.get(path))
+                : TaskManagerLoadTest.class.getResourceAsStream("/loadtest-baseline.properties")) {
+            assertNotNull(in, "No load test baseline found");
+            properties.load(in);
+        }
+        return properties;
+    }
+}
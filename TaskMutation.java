@@ -0,0 +1,91 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.model.Task;
+
+/**
+ * A single change applied to the {@link TaskRepository}, in commit order.
+ */
+public class TaskMutation {
+
+    public enum Type {
+        SAVE,
+        DELETE
+    }
+
+    private long sequence;
+    private Type type;
+    private String id;
+    private Task task;
+    private long timestamp;
+
+    public TaskMutation() {
+    }
+
+    private TaskMutation(long sequence, Type type, String id, Task task) {
+        this.sequence = sequence;
+        this.type = type;
+        this.id = id;
+        this.task = task;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    /**
+     * Create a save mutation carrying a snapshot of the task
+     */
+    public static TaskMutation save(long sequence, Task task) {
+        return new TaskMutation(sequence, Type.SAVE, task.getId(), task.copy());
+    }
+
+    /**
+     * Create a delete mutation
+     */
+    public static TaskMutation delete(long sequence, String id) {
+        return new TaskMutation(sequence, Type.DELETE, id, null);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+     * @return the task as it was saved, or null for deletes
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    public void setTask(Task task) {
+        this.task = task;
+    }
+
+    /**
+     * @return wall-clock time (epoch millis) the mutation was committed
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.taskmanager.repository;
+
+/**
+ * Receives every {@link TaskMutation} committed to the {@link TaskRepository}, in order.
+ * Listeners run on the writing thread while writes are serialized, so they must be quick;
+ * throwing rejects the write before it is applied.
+ */
+public interface TaskMutationListener {
+
+    /**
+     * Called before a write is serialized, so it may wait briefly (e.g. to reserve queue space
+     * for its mutations) without holding up other writers; throwing rejects the whole write.
+     * The write may still be rejected afterwards, so fewer {@link #onMutation} calls may follow.
+     * @param mutations the number of mutations the write expects to publish (an estimate for bulk writes)
+     */
+    default void beforeWrite(int mutations) {
+    }
+
+    /**
+     * Called on the writing thread once the write has finished or failed, after every
+     * {@link #beforeWrite} call, e.g. to release what it reserved
+     */
+    default void afterWrite() {
+    }
+
+    void onMutation(TaskMutation mutation);
+}
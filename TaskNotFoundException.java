@@ -1,11 +1,31 @@
 package com.example.taskmanager.exception;
 
+/**
+ * Thrown when a task id is unknown.
+ * Unknown ids are routine client errors (and bot traffic), so this exception
+ * skips stack-trace capture and only builds its message when asked for it.
+ */
 public class TaskNotFoundException extends RuntimeException {
+
+    private final String id;
+
     public TaskNotFoundException(String id) {
-        super("Task with id '" + id + "' not found");
+        super(null, null, false, false);
+        this.id = id;
     }
 
     public TaskNotFoundException(String message, Throwable cause) {
         super(message, cause);
+        this.id = null;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public String getMessage() {
+        String message = super.getMessage();
+        return message != null ? message : "Task with id '" + id + "' not found";
     }
 }
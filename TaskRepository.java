@@ -1,73 +1,406 @@
 package com.example.taskmanager.repository;
 
+import com.example.taskmanager.exception.ValidationException;
 import com.example.taskmanager.model.Task;
+import com.example.taskmanager.tenant.TenantContext;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * In-memory task store, partitioned by tenant.
+ * <p>
+ * Each tenant has its own task map and dependency index, so listing and graph queries only
+ * touch that tenant's data. Queries without a tenant argument use {@link TenantContext#current()};
+ * writes go to the tenant of the task itself. Ids are unique across tenants, and lookups by id
+ * never return another tenant's task.
+ */
 @Repository
 public class TaskRepository {
 
-    private final Map<String, Task> tasks = new HashMap<>();
+    // Stands in for the graph of a tenant with no stored tasks; never written
+    private static final TaskDependencyIndex NO_DEPENDENCIES = new TaskDependencyIndex();
+
+    // Concurrent: background jobs (retention) run alongside request threads.
+    // Reads are lock-free; writes are serialized so listeners see them in commit order.
+    private final Map<String, Task> tasks = new ConcurrentHashMap<>();
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    private final List<TaskMutationListener> listeners = new CopyOnWriteArrayList<>();
+    private final String epoch = UUID.randomUUID().toString();
+    private long sequence;
+
+    /**
+     * Register a listener for all subsequent mutations.
+     * Listeners implementing {@link org.springframework.core.Ordered} are called in order,
+     * so one that may reject a write should run before ones that must only see applied writes.
+     * @return the sequence after which the listener sees every mutation
+     */
+    public synchronized long addListener(TaskMutationListener listener) {
+        listeners.add(listener);
+        AnnotationAwareOrderComparator.sort(listeners);
+        return sequence;
+    }
 
     /**
-     * Save a task (create or update)
+     * Get the id of this repository instance. Sequences restart with every instance (e.g. when the
+     * process restarts), so two sequences are only comparable if they come from the same epoch.
+     */
+    public String epoch() {
+        return epoch;
+    }
+
+    /**
+     * Get the sequence number of the last committed mutation
+     */
+    public synchronized long lastSequence() {
+        return sequence;
+    }
+
+    /**
+     * Save a task (create or update) in its tenant's partition.
+     * The stored instance must not be modified afterwards; to change a task, save a copy.
+     * @throws ValidationException if the id belongs to another tenant or its dependencies would form a cycle
      */
     public Task save(Task task) {
-        tasks.put(task.getId(), task);
-        return task;
+        return write(1, () -> {
+            checkSave(task, Collections.emptyMap(), Collections.emptyMap());
+            return apply(task);
+        });
+    }
+
+    /**
+     * Save several tasks as one write: either all are stored or, if any would be rejected
+     * by {@link #save}, none is
+     * @throws ValidationException if an id belongs to another tenant or dependencies would form a cycle
+     */
+    public List<Task> saveAll(List<Task> batch) {
+        return write(batch.size(), () -> {
+            // Later tasks are checked as if the earlier ones were already stored
+            Map<String, Task> pending = new HashMap<>();
+            Map<String, Map<String, Set<String>>> pendingEdges = new HashMap<>();
+            for (Task task : batch) {
+                Map<String, Set<String>> edges =
+                        pendingEdges.computeIfAbsent(TenantContext.of(task), tenantId -> new HashMap<>());
+                checkSave(task, pending, edges);
+                pending.put(task.getId(), task);
+                edges.put(task.getId(), task.getDependencies() == null ? Collections.emptySet() : task.getDependencies());
+            }
+            List<Task> saved = new ArrayList<>(batch.size());
+            for (Task task : batch) {
+                saved.add(apply(task));
+            }
+            return saved;
+        });
+    }
+
+    /**
+     * Find the dependency cycle that saving a task of the current tenant with these dependencies would create
+     * @return the cycle as a path of ids starting and ending at {@code id}, or empty
+     */
+    public synchronized Optional<List<String>> findDependencyCycle(String id, Collection<String> dependencies) {
+        Partition partition = partitions.get(TenantContext.current());
+        return partition == null ? Optional.empty() : partition.dependencies.findCycle(id, dependencies);
+    }
+
+    /**
+     * Find tasks of the current tenant that are not DONE and whose dependencies are all DONE (or gone)
+     */
+    public List<Task> findReady() {
+        Partition partition = partitions.get(TenantContext.current());
+        if (partition == null) {
+            return new ArrayList<>();
+        }
+        List<Task> result = new ArrayList<>();
+        for (String id : partition.dependencies.readyIds()) {
+            Task task = partition.tasks.get(id);
+            if (task != null) {
+                result.add(task);
+            }
+        }
+        return result;
     }
 
     /**
-     * Find a task by id
+     * Find the unfinished tasks blocking a task, following dependency chains, nearest first
+     */
+    public List<Task> findBlockers(String id) {
+        Partition partition = partitions.get(TenantContext.current());
+        if (partition == null) {
+            return new ArrayList<>();
+        }
+        List<Task> result = new ArrayList<>();
+        for (String blocker : partition.dependencies.blockers(id)) {
+            Task task = partition.tasks.get(blocker);
+            if (task != null) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Take a consistent copy of all tasks of all tenants together with the sequence it reflects
+     */
+    public RepositorySnapshot snapshot() {
+        List<Task> stored;
+        long at;
+        // Writers only wait for the references to be collected; stored tasks are never modified
+        // in place, so they are copied after the lock is released
+        synchronized (this) {
+            stored = new ArrayList<>(tasks.values());
+            at = sequence;
+        }
+        List<Task> copies = new ArrayList<>(stored.size());
+        for (Task task : stored) {
+            copies.add(task.copy());
+        }
+        return new RepositorySnapshot(epoch, at, copies);
+    }
+
+    /**
+     * Replace the contents of all tenants with the given tasks, e.g. when installing a replication snapshot.
+     * Tasks not in the new set are deleted; readers never observe an empty store.
+     */
+    public void replaceAll(Collection<Task> replacement) {
+        // Upper bound: every current task deleted, every replacement saved
+        write(tasks.size() + replacement.size(), () -> {
+            Set<String> keep = new HashSet<>();
+            for (Task task : replacement) {
+                keep.add(task.getId());
+            }
+            for (String id : new ArrayList<>(tasks.keySet())) {
+                if (!keep.contains(id)) {
+                    deleteLocked(id);
+                }
+            }
+            // The replacement comes from a consistent source; mixing its edges with ones about
+            // to be replaced could report a cycle that never existed, so it is not re-checked
+            for (Task task : replacement) {
+                apply(task);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Find a task of the current tenant by id
      */
     public Optional<Task> findById(String id) {
-        return Optional.ofNullable(tasks.get(id));
+        Task task = tasks.get(id);
+        if (task == null || !TenantContext.of(task).equals(TenantContext.current())) {
+            return Optional.empty();
+        }
+        return Optional.of(task);
     }
 
     /**
-     * Find all tasks
+     * Find all tasks of the current tenant
      */
     public List<Task> findAll() {
-        return new ArrayList<>(tasks.values());
+        return findAll(TenantContext.current());
+    }
+
+    /**
+     * Find all tasks of a tenant
+     */
+    public List<Task> findAll(String tenantId) {
+        Partition partition = partitions.get(tenantId);
+        return partition == null ? new ArrayList<>() : new ArrayList<>(partition.tasks.values());
     }
 
     /**
-     * Find all tasks by status
+     * Find all tasks of the current tenant by status
      */
     public List<Task> findByStatus(Task.Status status) {
-        return tasks.values().stream()
+        return findByStatus(TenantContext.current(), status);
+    }
+
+    /**
+     * Find all tasks of a tenant by status
+     */
+    public List<Task> findByStatus(String tenantId, Task.Status status) {
+        Partition partition = partitions.get(tenantId);
+        if (partition == null) {
+            return new ArrayList<>();
+        }
+        return partition.tasks.values().stream()
                 .filter(task -> task.getStatus() == status)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Delete a task by id
+     * Get the tenants that have stored tasks
+     */
+    public Set<String> tenants() {
+        return Collections.unmodifiableSet(partitions.keySet());
+    }
+
+    /**
+     * Delete a task by id, whichever tenant it belongs to
      */
     public void delete(String id) {
-        tasks.remove(id);
+        write(1, () -> {
+            deleteLocked(id);
+            return null;
+        });
     }
 
     /**
-     * Check if a task exists
+     * Delete a task only if it still matches a condition
+     * @return true if the task was deleted
+     */
+    public boolean deleteIf(String id, Predicate<Task> condition) {
+        return write(1, () -> {
+            Task task = tasks.get(id);
+            if (task == null || !condition.test(task)) {
+                return false;
+            }
+            publish(TaskMutation.Type.DELETE, id, null);
+            remove(id);
+            return true;
+        });
+    }
+
+    /**
+     * Check if a task of the current tenant exists
      */
     public boolean existsById(String id) {
-        return tasks.containsKey(id);
+        return findById(id).isPresent();
     }
 
     /**
-     * Get total count of tasks
+     * Get the number of tasks of the current tenant
      */
     public long count() {
-        return tasks.size();
+        return count(TenantContext.current());
+    }
+
+    /**
+     * Get the number of tasks of a tenant
+     */
+    public long count(String tenantId) {
+        Partition partition = partitions.get(tenantId);
+        return partition == null ? 0 : partition.tasks.size();
     }
 
     /**
-     * Clear all tasks (useful for testing)
+     * Clear all tasks of all tenants (useful for testing)
      */
     public void deleteAll() {
-        tasks.clear();
+        write(tasks.size(), () -> {
+            for (String id : new ArrayList<>(tasks.keySet())) {
+                deleteLocked(id);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Run a write under the lock. Listeners may wait in beforeWrite (e.g. to reserve queue space
+     * for every mutation of a bulk write), so that runs first, without holding up other writers.
+     */
+    private <T> T write(int mutations, Supplier<T> operation) {
+        try {
+            for (TaskMutationListener listener : listeners) {
+                listener.beforeWrite(mutations);
+            }
+            synchronized (this) {
+                return operation.get();
+            }
+        } finally {
+            for (TaskMutationListener listener : listeners) {
+                listener.afterWrite();
+            }
+        }
     }
-}
 
+    /**
+     * Reject a save that {@link #apply} must not see
+     * @param pending tasks saved earlier in the same write, by id
+     * @param pendingEdges their dependencies, for the task's tenant
+     */
+    private void checkSave(Task task, Map<String, Task> pending, Map<String, Set<String>> pendingEdges) {
+        Task previous = pending.containsKey(task.getId()) ? pending.get(task.getId()) : tasks.get(task.getId());
+        if (previous != null && !TenantContext.of(previous).equals(TenantContext.of(task))) {
+            throw ValidationException.forField("id", "Task id is already in use");
+        }
+        Partition partition = partitions.get(TenantContext.of(task));
+        TaskDependencyIndex dependencies = partition != null ? partition.dependencies : NO_DEPENDENCIES;
+        Optional<List<String>> cycle = dependencies.findCycle(task.getId(), task.getDependencies(), pendingEdges);
+        if (cycle.isPresent()) {
+            throw ValidationException.forField("dependencies",
+                    "Dependency cycle: " + String.join(" -> ", cycle.get()));
+        }
+    }
+
+    private void deleteLocked(String id) {
+        if (tasks.containsKey(id)) {
+            publish(TaskMutation.Type.DELETE, id, null);
+            remove(id);
+        }
+    }
+
+    private Task apply(Task task) {
+        publish(TaskMutation.Type.SAVE, task.getId(), task);
+        Task previous = tasks.put(task.getId(), task);
+        if (previous != null && !TenantContext.of(previous).equals(TenantContext.of(task))) {
+            // Only reachable through replaceAll with a reassigned id
+            removeFromPartition(TenantContext.of(previous), task.getId());
+        }
+        partitions.computeIfAbsent(TenantContext.of(task), tenantId -> new Partition()).put(task);
+        return task;
+    }
+
+    private void remove(String id) {
+        Task task = tasks.remove(id);
+        removeFromPartition(TenantContext.of(task), id);
+    }
+
+    // Empty partitions are dropped, so tenants() and the partition map only hold tenants with tasks
+    private void removeFromPartition(String tenantId, String id) {
+        Partition partition = partitions.get(tenantId);
+        if (partition != null) {
+            partition.remove(id);
+            if (partition.tasks.isEmpty()) {
+                partitions.remove(tenantId);
+            }
+        }
+    }
+
+    private void publish(TaskMutation.Type type, String id, Task task) {
+        long next = sequence + 1;
+        if (!listeners.isEmpty()) {
+            TaskMutation mutation = type == TaskMutation.Type.SAVE
+                    ? TaskMutation.save(next, task)
+                    : TaskMutation.delete(next, id);
+            for (TaskMutationListener listener : listeners) {
+                listener.onMutation(mutation);
+            }
+        }
+        sequence = next;
+    }
+
+    /**
+     * One tenant's tasks and dependency graph
+     */
+    private static class Partition {
+        final Map<String, Task> tasks = new ConcurrentHashMap<>();
+        final TaskDependencyIndex dependencies = new TaskDependencyIndex();
+
+        void put(Task task) {
+            tasks.put(task.getId(), task);
+            dependencies.onSave(task);
+        }
+
+        void remove(String id) {
+            tasks.remove(id);
+            dependencies.onDelete(id);
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.example.taskmanager.repository;
 
+import com.example.taskmanager.exception.ValidationException;
 import com.example.taskmanager.model.Task;
+import com.example.taskmanager.tenant.TenantContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -137,4 +141,175 @@ class TaskRepositoryTest {
 
         assertEquals(0, repository.count());
     }
+
+    @Test
+    void listener_shouldReceiveMutationsInOrder() {
+        List<TaskMutation> mutations = new ArrayList<>();
+        repository.addListener(mutations::add);
+
+        repository.save(testTask);
+        repository.delete(testTask.getId());
+        repository.delete("non-existing");
+
+        assertEquals(2, mutations.size());
+        assertEquals(TaskMutation.Type.SAVE, mutations.get(0).getType());
+        assertEquals(1, mutations.get(0).getSequence());
+        assertEquals(TaskMutation.Type.DELETE, mutations.get(1).getType());
+        assertEquals(2, repository.lastSequence());
+    }
+
+    @Test
+    void listener_throwing_shouldRejectWrite() {
+        repository.addListener(mutation -> {
+            throw new IllegalStateException("rejected");
+        });
+
+        assertThrows(IllegalStateException.class, () -> repository.save(testTask));
+
+        assertFalse(repository.existsById(testTask.getId()));
+    }
+
+    @Test
+    void listener_shouldReceiveSnapshot() {
+        List<TaskMutation> mutations = new ArrayList<>();
+        repository.addListener(mutations::add);
+
+        repository.save(testTask);
+        testTask.setTitle("Changed later");
+
+        assertEquals("Test Task", mutations.get(0).getTask().getTitle());
+    }
+
+    @Test
+    void save_dependencyCycle_shouldRejectWithoutPublishing() {
+        List<TaskMutation> mutations = new ArrayList<>();
+        Task second = new Task("Second", LocalDate.now().plusDays(1));
+        second.setDependencies(Set.of(testTask.getId()));
+        repository.save(testTask);
+        repository.save(second);
+        repository.addListener(mutations::add);
+
+        Task cyclic = testTask.copy();
+        cyclic.setDependencies(Set.of(second.getId()));
+
+        assertThrows(ValidationException.class, () -> repository.save(cyclic));
+        assertTrue(mutations.isEmpty());
+        assertNull(repository.findById(testTask.getId()).get().getDependencies());
+    }
+
+    @Test
+    void findReady_shouldTrackDependencyStatus() {
+        Task second = new Task("Second", LocalDate.now().plusDays(1));
+        second.setDependencies(Set.of(testTask.getId()));
+        repository.save(testTask);
+        repository.save(second);
+        assertEquals(List.of(testTask.getId()), ids(repository.findReady()));
+        assertEquals(List.of(testTask.getId()), ids(repository.findBlockers(second.getId())));
+
+        testTask.setStatus(Task.Status.DONE);
+        repository.save(testTask);
+
+        assertEquals(List.of(second.getId()), ids(repository.findReady()));
+        assertTrue(repository.findBlockers(second.getId()).isEmpty());
+    }
+
+    @Test
+    void replaceAll_shouldNotReportTransientCycles() {
+        Task second = new Task("Second", LocalDate.now().plusDays(1));
+        second.setDependencies(Set.of(testTask.getId()));
+        repository.save(testTask);
+        repository.save(second);
+
+        Task first = testTask.copy();
+        first.setDependencies(Set.of(second.getId()));
+        Task independent = second.copy();
+        independent.setDependencies(null);
+        repository.replaceAll(List.of(first, independent));
+
+        assertEquals(List.of(second.getId()), ids(repository.findReady()));
+    }
+
+    private static List<String> ids(List<Task> tasks) {
+        List<String> ids = new ArrayList<>();
+        for (Task task : tasks) {
+            ids.add(task.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    void tenants_shouldBeIsolated() {
+        Task other = new Task("Other tenant", LocalDate.now().plusDays(1));
+        other.setTenantId("other");
+        repository.save(testTask);
+        repository.save(other);
+
+        assertEquals(List.of(testTask.getId()), ids(repository.findAll()));
+        assertEquals(List.of(other.getId()), ids(repository.findAll("other")));
+        assertTrue(repository.findById(other.getId()).isEmpty());
+        assertEquals(1, repository.count());
+        assertEquals(Set.of(TenantContext.DEFAULT_TENANT, "other"), repository.tenants());
+
+        TenantContext.set("other");
+        try {
+            assertTrue(repository.findById(other.getId()).isPresent());
+            assertEquals(List.of(other.getId()), ids(repository.findByStatus(Task.Status.PENDING)));
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    @Test
+    void save_idOfAnotherTenant_shouldReject() {
+        repository.save(testTask);
+        Task hijack = testTask.copy();
+        hijack.setTenantId("other");
+
+        assertThrows(ValidationException.class, () -> repository.save(hijack));
+        assertEquals(0, repository.count("other"));
+    }
+
+    @Test
+    void saveAll_laterIdOfAnotherTenant_shouldStoreNone() {
+        Task other = new Task("Other tenant", LocalDate.now().plusDays(1));
+        other.setTenantId("other");
+        repository.save(other);
+        List<TaskMutation> mutations = new ArrayList<>();
+        repository.addListener(mutations::add);
+        Task hijack = other.copy();
+        hijack.setTenantId(null);
+
+        assertThrows(ValidationException.class, () -> repository.saveAll(List.of(testTask, hijack)));
+
+        assertFalse(repository.existsById(testTask.getId()));
+        assertTrue(mutations.isEmpty());
+    }
+
+    @Test
+    void saveAll_cycleThroughEarlierTaskInBatch_shouldStoreNone() {
+        // An existing task may depend on a deleted id that the batch then recreates
+        Task second = new Task("Second", LocalDate.now().plusDays(1));
+        second.setDependencies(Set.of(testTask.getId()));
+        repository.save(second);
+        Task third = new Task("Third", LocalDate.now().plusDays(1));
+        third.setDependencies(Set.of(second.getId()));
+        testTask.setDependencies(Set.of(third.getId()));
+
+        assertThrows(ValidationException.class, () -> repository.saveAll(List.of(third, testTask)));
+
+        assertFalse(repository.existsById(third.getId()));
+        assertFalse(repository.existsById(testTask.getId()));
+    }
+
+    @Test
+    void delete_shouldRemoveFromOwningTenant() {
+        Task other = new Task("Other tenant", LocalDate.now().plusDays(1));
+        other.setTenantId("other");
+        repository.save(other);
+
+        repository.delete(other.getId());
+
+        assertEquals(0, repository.count("other"));
+        assertFalse(repository.tenants().contains("other"));
+    }
 }
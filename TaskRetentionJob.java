@@ -0,0 +1,106 @@
+package com.example.taskmanager.archive;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Moves completed tasks from the hot store into the {@link TaskArchive}.
+ * <p>
+ * A DONE task is archived once it has been completed for longer than {@code maxAge},
+ * or when a tenant has more than {@code maxDoneTasks} DONE tasks (oldest first).
+ * Work is done in batches: each batch is durably appended to the archive before its
+ * tasks are removed, and a task changed in the meantime is left in the hot store.
+ */
+public class TaskRetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskRetentionJob.class);
+
+    private static final Comparator<Task> OLDEST_FIRST = Comparator.comparing(
+            Task::getCompletedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final TaskRepository repository;
+    private final TaskArchive archive;
+    private final Duration maxAge;
+    private final int maxDoneTasks;
+    private final int batchSize;
+    private final Clock clock;
+
+    public TaskRetentionJob(TaskRepository repository, TaskArchive archive,
+                            Duration maxAge, int maxDoneTasks, int batchSize, Clock clock) {
+        this.repository = repository;
+        this.archive = archive;
+        this.maxAge = maxAge;
+        this.maxDoneTasks = maxDoneTasks;
+        this.batchSize = batchSize;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.retention.interval-ms:60000}",
+            initialDelayString = "${taskmanager.retention.interval-ms:60000}")
+    public void run() {
+        int archived = archiveEligible();
+        if (archived > 0) {
+            log.info("Archived {} completed tasks ({} in archive)", archived, archive.count());
+        }
+    }
+
+    /**
+     * Archive every task that is currently past the retention policy
+     * @return the number of tasks moved to the archive
+     */
+    public int archiveEligible() {
+        int archived = 0;
+        for (String tenantId : new ArrayList<>(repository.tenants())) {
+            archived += archiveEligible(tenantId);
+        }
+        return archived;
+    }
+
+    private int archiveEligible(String tenantId) {
+        List<Task> done = repository.findByStatus(tenantId, Task.Status.DONE);
+        done.sort(OLDEST_FIRST);
+
+        Instant cutoff = clock.instant().minus(maxAge);
+        int overCount = Math.max(0, done.size() - maxDoneTasks);
+        List<Task> eligible = new ArrayList<>();
+        for (int i = 0; i < done.size(); i++) {
+            Task task = done.get(i);
+            if (i < overCount || task.getCompletedAt() == null || task.getCompletedAt().isBefore(cutoff)) {
+                eligible.add(task);
+            } else {
+                break;
+            }
+        }
+
+        int archived = 0;
+        for (int from = 0; from < eligible.size(); from += batchSize) {
+            archived += archiveBatch(eligible.subList(from, Math.min(from + batchSize, eligible.size())));
+        }
+        return archived;
+    }
+
+    private int archiveBatch(List<Task> batch) {
+        archive.append(batch);
+        int removed = 0;
+        for (Task task : batch) {
+            // Every save stores a new instance, so an unchanged task is still the one we archived
+            if (repository.deleteIf(task.getId(), current -> current == task)) {
+                removed++;
+            } else {
+                // Edited (or deleted) while we were writing; the hot store stays authoritative
+                archive.delete(task.getId());
+            }
+        }
+        return removed;
+    }
+}
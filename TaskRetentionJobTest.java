@@ -0,0 +1,127 @@
+package com.example.taskmanager.archive;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskRetentionJobTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T00:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    private TaskRepository repository;
+    private TaskArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        repository = new TaskRepository();
+        archive = new TaskArchive(new ObjectMapper().findAndRegisterModules(), dir.resolve("archive.bin"));
+        archive.open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        archive.close();
+    }
+
+    @Test
+    void archiveEligible_oldDoneTask_shouldMoveToArchive() {
+        Task old = save(Task.Status.DONE, NOW.minus(Duration.ofDays(10)));
+        Task recent = save(Task.Status.DONE, NOW.minus(Duration.ofDays(1)));
+        Task pending = save(Task.Status.PENDING, null);
+
+        int archived = job(100, 2).archiveEligible();
+
+        assertEquals(1, archived);
+        assertFalse(repository.existsById(old.getId()));
+        assertTrue(archive.find(old.getId()).isPresent());
+        assertTrue(repository.existsById(recent.getId()));
+        assertTrue(repository.existsById(pending.getId()));
+    }
+
+    @Test
+    void archiveEligible_overCount_shouldArchiveOldestFirst() {
+        Task oldest = save(Task.Status.DONE, NOW.minus(Duration.ofHours(3)));
+        Task middle = save(Task.Status.DONE, NOW.minus(Duration.ofHours(2)));
+        Task newest = save(Task.Status.DONE, NOW.minus(Duration.ofHours(1)));
+
+        int archived = job(1, 1).archiveEligible();
+
+        assertEquals(2, archived);
+        assertTrue(archive.contains(oldest.getId()));
+        assertTrue(archive.contains(middle.getId()));
+        assertTrue(repository.existsById(newest.getId()));
+        assertEquals(2, archive.count());
+    }
+
+    @Test
+    void archiveEligible_nothingEligible_shouldNotWrite() {
+        save(Task.Status.DONE, NOW);
+
+        assertEquals(0, job(100, 10).archiveEligible());
+        assertEquals(0, archive.count());
+    }
+
+    @Test
+    void archiveEligible_overCount_shouldApplyPerTenant() {
+        Task defaultTenant = save(Task.Status.DONE, NOW.minus(Duration.ofHours(2)));
+        Task other = new Task("Other tenant", LocalDate.now().plusDays(1));
+        other.setTenantId("other");
+        other.setStatus(Task.Status.DONE);
+        other.setCompletedAt(NOW.minus(Duration.ofHours(3)));
+        repository.save(other);
+
+        assertEquals(0, job(1, 10).archiveEligible());
+        assertTrue(repository.findById(defaultTenant.getId()).isPresent());
+        assertEquals(1, repository.count("other"));
+    }
+
+    @Test
+    void archiveEligible_editedWhileArchiving_shouldKeepEditInHotStore() throws IOException {
+        Task task = save(Task.Status.DONE, NOW.minus(Duration.ofDays(10)));
+        archive.close();
+        archive = new TaskArchive(new ObjectMapper().findAndRegisterModules(), dir.resolve("archive.bin")) {
+            @Override
+            public void append(Collection<Task> tasks) {
+                super.append(tasks);
+                Task edited = task.copy();
+                edited.setDescription("edited");
+                repository.save(edited);
+            }
+        };
+        archive.open();
+
+        assertEquals(0, job(100, 10).archiveEligible());
+        assertEquals("edited", repository.findById(task.getId()).orElseThrow().getDescription());
+        assertFalse(archive.contains(task.getId()));
+    }
+
+    private TaskRetentionJob job(int maxDoneTasks, int batchSize) {
+        return new TaskRetentionJob(repository, archive, Duration.ofDays(7), maxDoneTasks, batchSize,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private Task save(Task.Status status, Instant completedAt) {
+        Task task = new Task("Task", LocalDate.now().plusDays(1));
+        task.setStatus(status);
+        task.setCompletedAt(completedAt);
+        return repository.save(task);
+    }
+}
@@ -16,6 +16,13 @@ public interface TaskService {
      * @return the created task
      */
     Task create(Task task);
+
+    /**
+     * Create several tasks; nothing is stored unless every task is valid
+     * @param tasks the tasks to create
+     * @return the created tasks, in request order
+     */
+    List<Task> createAll(List<Task> tasks);
     
     /**
      * Retrieve a task by id
@@ -50,4 +57,17 @@ public interface TaskService {
      * @return list of filtered tasks
      */
     List<Task> getByStatus(Task.Status status);
+
+    /**
+     * Get tasks that are not DONE and whose dependencies are all DONE, sorted by due date
+     * @return list of ready tasks
+     */
+    List<Task> getReady();
+
+    /**
+     * Get the unfinished tasks blocking a task, following dependency chains
+     * @param id the task id
+     * @return blocking tasks, nearest first
+     */
+    List<Task> getBlockers(String id);
 }
@@ -1,60 +1,144 @@
 package com.example.taskmanager.service;
 
+import com.example.taskmanager.archive.TaskArchive;
 import com.example.taskmanager.exception.TaskNotFoundException;
+import com.example.taskmanager.exception.ValidationException;
 import com.example.taskmanager.model.Task;
 import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.tenant.TenantContext;
+import com.example.taskmanager.tenant.TenantQuotas;
+import com.example.taskmanager.validation.TaskValidator;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
-import java.util.List;
+import java.time.Instant;
+import java.util.*;
 
 /**
  * Implementation of TaskService with business logic for task management.
+ * Every operation acts on the tenant of the current request ({@link TenantContext}).
  */
 @Service
 public class TaskServiceImpl implements TaskService {
 
     private final TaskRepository repository;
+    private final TaskValidator validator;
+    private final TaskArchive archive;
+    private final TenantQuotas quotas;
 
-    public TaskServiceImpl(TaskRepository repository) {
+    public TaskServiceImpl(TaskRepository repository, TaskValidator validator, TaskArchive archive,
+                           TenantQuotas quotas) {
         this.repository = repository;
+        this.validator = validator;
+        this.archive = archive;
+        this.quotas = quotas;
     }
 
     @Override
     public Task create(Task task) {
-        return repository.save(task);
+        validator.validateNew(task);
+        checkArchivedId(task.getId());
+        checkDependencies(task.getId(), task.getDependencies(), Collections.emptySet());
+        String tenantId = TenantContext.current();
+        quotas.checkTaskQuota(tenantId, repository.count(), 1);
+        task.setTenantId(tenantId);
+        initStatus(task);
+        Task saved = repository.save(task);
+        archive.delete(task.getId());
+        return saved;
+    }
+
+    @Override
+    public List<Task> createAll(List<Task> tasks) {
+        // Tasks may depend on earlier tasks of the same batch, which keeps the batch acyclic
+        Set<String> earlier = new HashSet<>();
+        for (Task task : tasks) {
+            validator.validateNew(task);
+            checkArchivedId(task.getId());
+            checkDependencies(task.getId(), task.getDependencies(), earlier);
+            earlier.add(task.getId());
+        }
+        String tenantId = TenantContext.current();
+        quotas.checkTaskQuota(tenantId, repository.count(), tasks.size());
+        for (Task task : tasks) {
+            task.setTenantId(tenantId);
+            initStatus(task);
+        }
+        // One repository write: an id owned by another tenant or a full write-behind queue
+        // rejects the whole batch, so a retry with the same idempotency key cannot duplicate tasks
+        List<Task> created = repository.saveAll(tasks);
+        for (Task task : created) {
+            archive.delete(task.getId());
+        }
+        return created;
     }
 
     @Override
     public Task get(String id) {
-        return repository.findById(id)
-                .orElseThrow(() -> new TaskNotFoundException(id));
+        // Misses are common (unknown ids from clients and bots); avoid the capturing lambda
+        Task task = repository.findById(id).orElse(null);
+        return task != null ? task : findArchived(id);
     }
 
     @Override
     public Task update(String id, Task updates) {
-        Task existing = get(id);
+        Task stored = repository.findById(id).orElse(null);
+        Task existing = stored != null ? stored : findArchived(id);
+        validator.validateUpdate(existing, updates);
+        if (updates.getDependencies() != null) {
+            checkDependencies(id, updates.getDependencies(), Collections.emptySet());
+            // Checked again atomically on save; checking first leaves the task untouched on rejection
+            Optional<List<String>> cycle = repository.findDependencyCycle(id, updates.getDependencies());
+            if (cycle.isPresent()) {
+                throw ValidationException.forField("dependencies",
+                        "Dependency cycle: " + String.join(" -> ", cycle.get()));
+            }
+        }
 
+        // Work on a copy so a rejected save leaves the stored task untouched
+        Task updated = existing.copy();
         if (updates.getTitle() != null) {
-            existing.setTitle(updates.getTitle());
+            updated.setTitle(updates.getTitle());
         }
         if (updates.getDescription() != null) {
-            existing.setDescription(updates.getDescription());
+            updated.setDescription(updates.getDescription());
         }
         if (updates.getStatus() != null) {
-            existing.setStatus(updates.getStatus());
+            if (updates.getStatus() != Task.Status.DONE) {
+                updated.setCompletedAt(null);
+            } else if (existing.getStatus() != Task.Status.DONE) {
+                updated.setCompletedAt(Instant.now());
+            }
+            updated.setStatus(updates.getStatus());
         }
         if (updates.getDueDate() != null) {
-            existing.setDueDate(updates.getDueDate());
+            updated.setDueDate(updates.getDueDate());
+        }
+        if (updates.getDependencies() != null) {
+            updated.setDependencies(updates.getDependencies().isEmpty() ? null : updates.getDependencies());
         }
 
-        return repository.save(existing);
+        Task saved = repository.save(updated);
+        if (stored == null) {
+            // Restored from cold storage; the hot copy is authoritative from now on
+            archive.delete(id);
+        }
+        return saved;
     }
 
     @Override
     public void delete(String id) {
-        get(id); // Verify task exists
-        repository.delete(id);
+        boolean deleted = false;
+        if (repository.findById(id).isPresent()) {
+            repository.delete(id);
+            deleted = true;
+        }
+        // A copy may also sit in the archive (e.g. written just before a reopen); drop it too
+        if (isArchived(id) && archive.delete(id)) {
+            deleted = true;
+        }
+        if (!deleted) {
+            throw new TaskNotFoundException(id);
+        }
     }
 
     @Override
@@ -72,5 +156,72 @@ public class TaskServiceImpl implements TaskService {
                 .sorted(Comparator.comparing(Task::getDueDate))
                 .toList();
     }
-}
 
+    @Override
+    public List<Task> getReady() {
+        return repository.findReady()
+                .stream()
+                .sorted(Comparator.comparing(Task::getDueDate))
+                .toList();
+    }
+
+    @Override
+    public List<Task> getBlockers(String id) {
+        get(id);
+        return repository.findBlockers(id);
+    }
+
+    // Request bodies leave the status unset when the client omits it
+    private static void initStatus(Task task) {
+        if (task.getStatus() == null) {
+            task.setStatus(Task.Status.PENDING);
+        }
+        task.setCompletedAt(task.getStatus() == Task.Status.DONE ? Instant.now() : null);
+    }
+
+    /**
+     * Dependencies must name stored or archived tasks (archived ones are DONE, so never block)
+     */
+    private void checkDependencies(String id, Set<String> dependencies, Set<String> pending) {
+        if (dependencies == null) {
+            return;
+        }
+        for (String dependency : dependencies) {
+            if (dependency == null || dependency.equals(id)) {
+                throw ValidationException.forField("dependencies", "A task cannot depend on itself");
+            }
+            if (!pending.contains(dependency) && !repository.existsById(dependency) && !isArchived(dependency)) {
+                throw ValidationException.forField("dependencies", "Unknown dependency: " + dependency);
+            }
+        }
+    }
+
+    // Completed tasks may have been moved to cold storage by the retention job
+    private Task findArchived(String id) {
+        Task task = archive.find(id).orElse(null);
+        if (task == null || !TenantContext.of(task).equals(TenantContext.current())) {
+            throw new TaskNotFoundException(id);
+        }
+        return task;
+    }
+
+    /**
+     * A new task may reuse its own tenant's archived id (replacing the archived copy), never another's
+     */
+    private void checkArchivedId(String id) {
+        if (archive.contains(id) && !isArchived(id)) {
+            throw ValidationException.forField("id", "Task id is already in use");
+        }
+    }
+
+    /**
+     * Check that an id is archived for the current tenant; the archive itself is shared
+     */
+    private boolean isArchived(String id) {
+        if (!archive.contains(id)) {
+            return false;
+        }
+        Task task = archive.find(id).orElse(null);
+        return task != null && TenantContext.of(task).equals(TenantContext.current());
+    }
+}
@@ -1,8 +1,16 @@
 package com.example.taskmanager.service;
 
+import com.example.taskmanager.archive.TaskArchive;
 import com.example.taskmanager.exception.TaskNotFoundException;
+import com.example.taskmanager.exception.TenantQuotaExceededException;
+import com.example.taskmanager.exception.ValidationException;
+import com.example.taskmanager.exception.WriteBackpressureException;
 import com.example.taskmanager.model.Task;
 import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.tenant.TenantContext;
+import com.example.taskmanager.tenant.TenantQuotas;
+import com.example.taskmanager.validation.TaskValidator;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +21,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -24,6 +33,15 @@ class TaskServiceTest {
     @Mock
     private TaskRepository repository;
 
+    @Mock
+    private TaskValidator validator;
+
+    @Mock
+    private TaskArchive archive;
+
+    @Mock
+    private TenantQuotas quotas;
+
     @InjectMocks
     private TaskServiceImpl service;
 
@@ -39,9 +57,14 @@ class TaskServiceTest {
         testTask.setDescription("Test Description");
     }
 
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
     @Test
     void create_newTask_shouldBePending() {
-        when(repository.save(any(Task.class))).thenReturn(testTask);
+        when(repository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Task saved = service.create(testTask);
 
@@ -51,7 +74,7 @@ class TaskServiceTest {
 
     @Test
     void create_newTask_shouldReturnSavedTask() {
-        when(repository.save(any(Task.class))).thenReturn(testTask);
+        when(repository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Task saved = service.create(testTask);
 
@@ -59,6 +82,28 @@ class TaskServiceTest {
         assertEquals(testTask.getTitle(), saved.getTitle());
     }
 
+    @Test
+    void createAll_validTasks_shouldSaveAll() {
+        Task second = new Task();
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Task> created = service.createAll(List.of(testTask, second));
+
+        assertEquals(2, created.size());
+        verify(repository).saveAll(List.of(testTask, second));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void createAll_oneInvalid_shouldSaveNone() {
+        Task invalid = new Task();
+        lenient().doThrow(ValidationException.forField("title", "Title is required")).when(validator).validateNew(invalid);
+
+        assertThrows(ValidationException.class, () -> service.createAll(List.of(testTask, invalid)));
+
+        verify(repository, never()).saveAll(any());
+    }
+
     @Test
     void get_validId_shouldReturnTask() {
         when(repository.findById("123")).thenReturn(Optional.of(testTask));
@@ -86,7 +131,7 @@ class TaskServiceTest {
         updates.setTitle("Updated Title");
 
         when(repository.findById("123")).thenReturn(Optional.of(testTask));
-        when(repository.save(any(Task.class))).thenReturn(testTask);
+        when(repository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Task result = service.update("123", updates);
 
@@ -94,6 +139,52 @@ class TaskServiceTest {
         verify(repository, times(1)).save(any(Task.class));
     }
 
+    @Test
+    void get_archivedId_shouldReturnFromArchive() {
+        when(repository.findById("123")).thenReturn(Optional.empty());
+        when(archive.find("123")).thenReturn(Optional.of(testTask));
+
+        Task result = service.get("123");
+
+        assertEquals(testTask.getTitle(), result.getTitle());
+    }
+
+    @Test
+    void create_withoutStatus_shouldBePending() {
+        testTask.setStatus(null);
+        when(repository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Task saved = service.create(testTask);
+
+        assertEquals(Task.Status.PENDING, saved.getStatus());
+        assertNull(saved.getCompletedAt());
+    }
+
+    @Test
+    void create_doneTask_shouldSetCompletedAt() {
+        testTask.setStatus(Task.Status.DONE);
+        when(repository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Task saved = service.create(testTask);
+
+        assertNotNull(saved.getCompletedAt());
+    }
+
+    @Test
+    void update_toDone_shouldSetCompletedAtAndReopenShouldClearIt() {
+        testTask.setId("123");
+        Task done = new Task();
+        done.setStatus(Task.Status.DONE);
+        Task reopen = new Task();
+        reopen.setStatus(Task.Status.IN_PROGRESS);
+
+        when(repository.findById("123")).thenReturn(Optional.of(testTask));
+        when(repository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertNotNull(service.update("123", done).getCompletedAt());
+        assertNull(service.update("123", reopen).getCompletedAt());
+    }
+
     @Test
     void update_invalidId_shouldThrowTaskNotFoundException() {
         Task updates = new Task();
@@ -111,13 +202,37 @@ class TaskServiceTest {
         updates.setStatus(Task.Status.IN_PROGRESS);
 
         when(repository.findById("123")).thenReturn(Optional.of(testTask));
-        when(repository.save(any(Task.class))).thenReturn(testTask);
+        when(repository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Task result = service.update("123", updates);
 
         assertEquals(Task.Status.IN_PROGRESS, result.getStatus());
     }
 
+    @Test
+    void create_invalidTask_shouldNotSave() {
+        doThrow(ValidationException.forField("title", "Title is required")).when(validator).validateNew(testTask);
+
+        assertThrows(ValidationException.class, () -> service.create(testTask));
+
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void update_disallowedTransition_shouldNotSave() {
+        testTask.setId("123");
+        Task updates = new Task();
+        updates.setStatus(Task.Status.PENDING);
+
+        when(repository.findById("123")).thenReturn(Optional.of(testTask));
+        doThrow(ValidationException.forField("status", "Cannot change status"))
+                .when(validator).validateUpdate(testTask, updates);
+
+        assertThrows(ValidationException.class, () -> service.update("123", updates));
+
+        verify(repository, never()).save(any());
+    }
+
     @Test
     void delete_validId_shouldDeleteTask() {
         testTask.setId("123");
@@ -139,6 +254,19 @@ class TaskServiceTest {
         verify(repository, never()).delete(any());
     }
 
+    @Test
+    void delete_archivedId_shouldDeleteFromArchive() {
+        when(repository.findById("123")).thenReturn(Optional.empty());
+        when(archive.contains("123")).thenReturn(true);
+        when(archive.find("123")).thenReturn(Optional.of(testTask));
+        when(archive.delete("123")).thenReturn(true);
+
+        service.delete("123");
+
+        verify(archive, times(1)).delete("123");
+        verify(repository, never()).delete(any());
+    }
+
     @Test
     void getAll_shouldReturnAllTasks() {
         List<Task> tasks = List.of(testTask);
@@ -165,4 +293,220 @@ class TaskServiceTest {
         assertEquals(Task.Status.PENDING, result.get(0).getStatus());
         verify(repository, times(1)).findByStatus(Task.Status.PENDING);
     }
+
+    @Test
+    void create_unknownDependency_shouldNotSave() {
+        testTask.setDependencies(Set.of("missing"));
+        when(repository.existsById("missing")).thenReturn(false);
+        when(archive.contains(testTask.getId())).thenReturn(false);
+        when(archive.contains("missing")).thenReturn(false);
+
+        ValidationException e = assertThrows(ValidationException.class, () -> service.create(testTask));
+
+        assertEquals("dependencies", e.getField());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void create_archivedDependency_shouldSave() {
+        testTask.setDependencies(Set.of("archived"));
+        when(repository.existsById("archived")).thenReturn(false);
+        when(archive.contains(testTask.getId())).thenReturn(false);
+        when(archive.contains("archived")).thenReturn(true);
+        when(archive.find("archived")).thenReturn(Optional.of(new Task("Archived", futureDate)));
+        when(repository.save(testTask)).thenReturn(testTask);
+
+        service.create(testTask);
+
+        verify(repository, times(1)).save(testTask);
+    }
+
+    @Test
+    void createAll_dependencyOnEarlierTaskInBatch_shouldSaveAll() {
+        Task second = new Task("Second", futureDate);
+        second.setDependencies(Set.of(testTask.getId()));
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.createAll(List.of(testTask, second));
+
+        verify(repository).saveAll(List.of(testTask, second));
+    }
+
+    @Test
+    void createAll_dependencyOnLaterTaskInBatch_shouldSaveNone() {
+        Task second = new Task("Second", futureDate);
+        testTask.setDependencies(Set.of(second.getId()));
+
+        assertThrows(ValidationException.class, () -> service.createAll(List.of(testTask, second)));
+
+        verify(repository, never()).saveAll(any());
+    }
+
+    @Test
+    void update_dependencyCycle_shouldLeaveTaskUntouched() {
+        Task updates = new Task();
+        updates.setDependencies(Set.of("other"));
+        when(repository.findById("123")).thenReturn(Optional.of(testTask));
+        when(repository.existsById("other")).thenReturn(true);
+        when(repository.findDependencyCycle("123", updates.getDependencies()))
+                .thenReturn(Optional.of(List.of("123", "other", "123")));
+
+        assertThrows(ValidationException.class, () -> service.update("123", updates));
+
+        assertNull(testTask.getDependencies());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void update_emptyDependencies_shouldClearThem() {
+        testTask.setDependencies(Set.of("other"));
+        Task updates = new Task();
+        updates.setDependencies(Set.of());
+        when(repository.findById("123")).thenReturn(Optional.of(testTask));
+        when(repository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Task result = service.update("123", updates);
+
+        assertNull(result.getDependencies());
+    }
+
+    @Test
+    void getBlockers_unknownId_shouldThrowTaskNotFoundException() {
+        when(repository.findById("invalid")).thenReturn(Optional.empty());
+
+        assertThrows(TaskNotFoundException.class, () -> service.getBlockers("invalid"));
+        verify(repository, never()).findBlockers(any());
+    }
+
+    @Test
+    void getReady_shouldSortByDueDate() {
+        Task later = new Task("Later", futureDate.plusDays(5));
+        when(repository.findReady()).thenReturn(List.of(later, testTask));
+
+        List<Task> result = service.getReady();
+
+        assertEquals(List.of(testTask, later), result);
+    }
+
+    @Test
+    void create_shouldAssignCurrentTenant() {
+        TenantContext.set("team-a");
+        testTask.setTenantId("spoofed");
+        when(repository.save(testTask)).thenReturn(testTask);
+
+        Task saved = service.create(testTask);
+
+        assertEquals("team-a", saved.getTenantId());
+    }
+
+    @Test
+    void createAll_overTenantQuota_shouldSaveNone() {
+        when(repository.count()).thenReturn(9L);
+        doThrow(new TenantQuotaExceededException("quota")).when(quotas)
+                .checkTaskQuota(TenantContext.DEFAULT_TENANT, 9L, 2);
+
+        assertThrows(TenantQuotaExceededException.class,
+                () -> service.createAll(List.of(testTask, new Task("Second", futureDate))));
+
+        verify(repository, never()).saveAll(any());
+    }
+
+    @Test
+    void get_archivedTaskOfAnotherTenant_shouldThrowTaskNotFoundException() {
+        testTask.setTenantId("other");
+        when(repository.findById("123")).thenReturn(Optional.empty());
+        when(archive.find("123")).thenReturn(Optional.of(testTask));
+
+        assertThrows(TaskNotFoundException.class, () -> service.get("123"));
+    }
+
+    @Test
+    void delete_archivedTaskOfAnotherTenant_shouldNotDelete() {
+        testTask.setTenantId("other");
+        when(repository.findById("123")).thenReturn(Optional.empty());
+        when(archive.contains("123")).thenReturn(true);
+        when(archive.find("123")).thenReturn(Optional.of(testTask));
+
+        assertThrows(TaskNotFoundException.class, () -> service.delete("123"));
+
+        verify(archive, never()).delete(any());
+    }
+
+    @Test
+    void update_archivedTask_shouldMoveItBackToHotStore() {
+        testTask.setId("123");
+        Task updates = new Task();
+        updates.setTitle("Renamed");
+        when(repository.findById("123")).thenReturn(Optional.empty());
+        when(archive.find("123")).thenReturn(Optional.of(testTask));
+        when(repository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Task result = service.update("123", updates);
+
+        assertEquals("Renamed", result.getTitle());
+        verify(archive, times(1)).delete("123");
+    }
+
+    @Test
+    void update_hotTask_shouldNotTouchArchive() {
+        testTask.setId("123");
+        Task updates = new Task();
+        updates.setTitle("Renamed");
+        when(repository.findById("123")).thenReturn(Optional.of(testTask));
+        when(repository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.update("123", updates);
+
+        verify(archive, never()).delete(any());
+    }
+
+    @Test
+    void delete_hotTaskAlsoArchived_shouldDeleteBoth() {
+        when(repository.findById("123")).thenReturn(Optional.of(testTask));
+        when(archive.contains("123")).thenReturn(true);
+        when(archive.find("123")).thenReturn(Optional.of(testTask));
+        when(archive.delete("123")).thenReturn(true);
+
+        service.delete("123");
+
+        verify(repository, times(1)).delete("123");
+        verify(archive, times(1)).delete("123");
+    }
+
+    @Test
+    void create_archivedIdOfSameTenant_shouldReplaceArchivedCopy() {
+        when(archive.contains(testTask.getId())).thenReturn(true);
+        when(archive.find(testTask.getId())).thenReturn(Optional.of(testTask.copy()));
+        when(repository.save(testTask)).thenReturn(testTask);
+
+        service.create(testTask);
+
+        verify(archive, times(1)).delete(testTask.getId());
+    }
+
+    @Test
+    void create_archivedIdOfAnotherTenant_shouldNotSave() {
+        Task archived = testTask.copy();
+        archived.setTenantId("other");
+        when(archive.contains(testTask.getId())).thenReturn(true);
+        when(archive.find(testTask.getId())).thenReturn(Optional.of(archived));
+
+        ValidationException e = assertThrows(ValidationException.class, () -> service.create(testTask));
+
+        assertEquals("id", e.getField());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void update_rejectedSave_shouldLeaveStoredTaskUntouched() {
+        testTask.setId("123");
+        Task updates = new Task();
+        updates.setTitle("Changed");
+        when(repository.findById("123")).thenReturn(Optional.of(testTask));
+        when(repository.save(any(Task.class))).thenThrow(new WriteBackpressureException("full"));
+
+        assertThrows(WriteBackpressureException.class, () -> service.update("123", updates));
+
+        assertEquals("Test Task", testTask.getTitle());
+    }
 }
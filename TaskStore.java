@@ -0,0 +1,25 @@
+package com.example.taskmanager.persistence;
+
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.repository.TaskMutation;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Durable backing store written behind the in-memory {@code TaskRepository}.
+ */
+public interface TaskStore {
+
+    /**
+     * Durably apply a batch of mutations, in order
+     * @param batch mutations in commit order
+     */
+    void write(List<TaskMutation> batch) throws IOException;
+
+    /**
+     * Load the current state of all tasks, used to warm the repository on startup
+     */
+    Collection<Task> load() throws IOException;
+}
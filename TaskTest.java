@@ -1,8 +1,13 @@
 package com.example.taskmanager.model;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+
 import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -64,4 +69,39 @@ class TaskTest {
         Task task2 = new Task();
         assertNotEquals(task1.getId(), task2.getId());
     }
+
+    @Test
+    void copy_shouldBeDetached() {
+        Task task = new Task();
+        task.setTitle("Original");
+        task.setDueDate(LocalDate.now().plusDays(1));
+
+        Task copy = task.copy();
+        task.setTitle("Changed");
+
+        assertEquals(task.getId(), copy.getId());
+        assertEquals("Original", copy.getTitle());
+        assertEquals(task.getDueDate(), copy.getDueDate());
+    }
+
+    @Test
+    void copy_shouldDetachDependencies() {
+        Task task = new Task();
+        task.setDependencies(new HashSet<>(Set.of("a")));
+
+        Task copy = task.copy();
+        task.getDependencies().add("b");
+
+        assertEquals(Set.of("a"), copy.getDependencies());
+    }
+
+    @Test
+    void fromJson_partialBody_shouldLeaveStatusUnset() throws IOException {
+        Task task = new ObjectMapper().findAndRegisterModules()
+                .readValue("{\"title\":\"renamed\"}", Task.class);
+
+        assertNotNull(task.getId());
+        assertEquals("renamed", task.getTitle());
+        assertNull(task.getStatus());
+    }
 }
@@ -0,0 +1,105 @@
+package com.example.taskmanager.validation;
+
+import com.example.taskmanager.exception.ValidationException;
+import com.example.taskmanager.model.Task;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Validates incoming task payloads before they reach the repository.
+ * Checks are plain comparisons so the happy path allocates nothing.
+ */
+@Component
+public class TaskValidator {
+
+    private final int maxTitleLength;
+    private final int maxDescriptionLength;
+    private final int maxDueDateYears;
+    private final int maxDependencies;
+
+    public TaskValidator(
+            @Value("${taskmanager.validation.max-title-length:200}") int maxTitleLength,
+            @Value("${taskmanager.validation.max-description-length:2000}") int maxDescriptionLength,
+            @Value("${taskmanager.validation.max-due-date-years:10}") int maxDueDateYears,
+            @Value("${taskmanager.validation.max-dependencies:100}") int maxDependencies) {
+        this.maxTitleLength = maxTitleLength;
+        this.maxDescriptionLength = maxDescriptionLength;
+        this.maxDueDateYears = maxDueDateYears;
+        this.maxDependencies = maxDependencies;
+    }
+
+    /**
+     * Validate a task about to be created
+     * @param task the new task
+     */
+    public void validateNew(Task task) {
+        if (task.getTitle() == null || task.getTitle().isBlank()) {
+            throw ValidationException.forField("title", "Title is required");
+        }
+        if (task.getDueDate() == null) {
+            throw ValidationException.forField("dueDate", "Due date is required");
+        }
+        validateFields(task);
+    }
+
+    /**
+     * Validate partial updates against the current state of a task
+     * @param existing the stored task
+     * @param updates the non-null fields to apply
+     */
+    public void validateUpdate(Task existing, Task updates) {
+        if (updates.getTitle() != null && updates.getTitle().isBlank()) {
+            throw ValidationException.forField("title", "Title must not be blank");
+        }
+        validateFields(updates);
+        if (updates.getStatus() != null && !isAllowedTransition(existing.getStatus(), updates.getStatus())) {
+            throw ValidationException.forField("status",
+                    "Cannot change status from " + existing.getStatus() + " to " + updates.getStatus());
+        }
+    }
+
+    /**
+     * Allowed status changes: work can start, finish or be put back,
+     * and a DONE task can only be reopened as IN_PROGRESS.
+     */
+    public boolean isAllowedTransition(Task.Status from, Task.Status to) {
+        if (from == null || from == to) {
+            return true;
+        }
+        switch (from) {
+            case PENDING:
+            case IN_PROGRESS:
+                return true;
+            case DONE:
+                return to == Task.Status.IN_PROGRESS;
+            default:
+                return false;
+        }
+    }
+
+    private void validateFields(Task task) {
+        if (task.getTitle() != null && task.getTitle().length() > maxTitleLength) {
+            throw ValidationException.forField("title", "Title must be at most " + maxTitleLength + " characters");
+        }
+        if (task.getDescription() != null && task.getDescription().length() > maxDescriptionLength) {
+            throw ValidationException.forField("description",
+                    "Description must be at most " + maxDescriptionLength + " characters");
+        }
+        if (task.getDependencies() != null && task.getDependencies().size() > maxDependencies) {
+            throw ValidationException.forField("dependencies",
+                    "A task can have at most " + maxDependencies + " dependencies");
+        }
+        LocalDate dueDate = task.getDueDate();
+        if (dueDate != null) {
+            LocalDate today = LocalDate.now(ZoneOffset.UTC);
+            if (dueDate.isBefore(today.minusYears(maxDueDateYears))
+                    || dueDate.isAfter(today.plusYears(maxDueDateYears))) {
+                throw ValidationException.forField("dueDate",
+                        "Due date must be within " + maxDueDateYears + " years of today");
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.taskmanager.validation;
+
+import com.example.taskmanager.exception.ValidationException;
+import com.example.taskmanager.model.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskValidatorTest {
+
+    private TaskValidator validator;
+    private Task testTask;
+
+    @BeforeEach
+    void setUp() {
+        validator = new TaskValidator(20, 50, 10, 3);
+        testTask = new Task();
+        testTask.setTitle("Test Task");
+        testTask.setDueDate(LocalDate.now().plusDays(1));
+    }
+
+    @Test
+    void validateNew_validTask_shouldPass() {
+        assertDoesNotThrow(() -> validator.validateNew(testTask));
+    }
+
+    @Test
+    void validateNew_missingTitle_shouldReject() {
+        testTask.setTitle("  ");
+
+        ValidationException e = assertThrows(ValidationException.class, () -> validator.validateNew(testTask));
+
+        assertEquals("title", e.getField());
+    }
+
+    @Test
+    void validateNew_titleTooLong_shouldReject() {
+        testTask.setTitle("x".repeat(21));
+
+        ValidationException e = assertThrows(ValidationException.class, () -> validator.validateNew(testTask));
+
+        assertEquals("title", e.getField());
+    }
+
+    @Test
+    void validateNew_missingDueDate_shouldReject() {
+        testTask.setDueDate(null);
+
+        ValidationException e = assertThrows(ValidationException.class, () -> validator.validateNew(testTask));
+
+        assertEquals("dueDate", e.getField());
+    }
+
+    @Test
+    void validateNew_dueDateTooFarAhead_shouldReject() {
+        testTask.setDueDate(LocalDate.now().plusYears(11));
+
+        ValidationException e = assertThrows(ValidationException.class, () -> validator.validateNew(testTask));
+
+        assertEquals("dueDate", e.getField());
+    }
+
+    @Test
+    void validateUpdate_doneToPending_shouldReject() {
+        testTask.setStatus(Task.Status.DONE);
+        Task updates = new Task();
+        updates.setStatus(Task.Status.PENDING);
+
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> validator.validateUpdate(testTask, updates));
+
+        assertEquals("status", e.getField());
+    }
+
+    @Test
+    void validateUpdate_doneToInProgress_shouldPass() {
+        testTask.setStatus(Task.Status.DONE);
+        Task updates = new Task();
+        updates.setStatus(Task.Status.IN_PROGRESS);
+
+        assertDoesNotThrow(() -> validator.validateUpdate(testTask, updates));
+    }
+
+    @Test
+    void validateUpdate_partialBodyOnDoneTask_shouldPass() throws IOException {
+        testTask.setStatus(Task.Status.DONE);
+        Task updates = new ObjectMapper().readValue("{\"title\":\"renamed\"}", Task.class);
+
+        assertDoesNotThrow(() -> validator.validateUpdate(testTask, updates));
+    }
+
+    @Test
+    void validationException_shouldNotCaptureStackTrace() {
+        ValidationException e = assertThrows(ValidationException.class, () -> validator.validateNew(new Task()));
+
+        assertEquals(0, e.getStackTrace().length);
+    }
+
+    @Test
+    void validateNew_tooManyDependencies_shouldReject() {
+        testTask.setDependencies(Set.of("a", "b", "c", "d"));
+
+        ValidationException e = assertThrows(ValidationException.class, () -> validator.validateNew(testTask));
+
+        assertEquals("dependencies", e.getField());
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.taskmanager.tenant;
+
+import com.example.taskmanager.model.Task;
+
+/**
+ * Tenant of the request being handled on the current thread.
+ * Code running outside a request (background jobs, tests) sees {@link #DEFAULT_TENANT}.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * Get the current tenant, or the default tenant if none is set
+     */
+    public static String current() {
+        String tenantId = CURRENT.get();
+        return tenantId != null ? tenantId : DEFAULT_TENANT;
+    }
+
+    public static void set(String tenantId) {
+        CURRENT.set(tenantId);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Get the tenant a task belongs to; tasks stored before tenants existed belong to the default tenant
+     */
+    public static String of(Task task) {
+        String tenantId = task.getTenantId();
+        return tenantId != null ? tenantId : DEFAULT_TENANT;
+    }
+}
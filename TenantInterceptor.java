@@ -0,0 +1,57 @@
+package com.example.taskmanager.tenant;
+
+import com.example.taskmanager.exception.ValidationException;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Binds each task request to the tenant named in {@code X-Tenant-Id}, which must be known
+ * to the {@link TenantRegistry}. Requests without the header belong to the default tenant.
+ */
+public class TenantInterceptor implements HandlerInterceptor {
+
+    public static final String TENANT_ID_HEADER = "X-Tenant-Id";
+    private static final int MAX_TENANT_ID_LENGTH = 64;
+
+    private final TenantRegistry registry;
+
+    public TenantInterceptor(TenantRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String tenantId = request.getHeader(TENANT_ID_HEADER);
+        if (tenantId != null && !isValid(tenantId)) {
+            throw ValidationException.forField(TENANT_ID_HEADER,
+                    "X-Tenant-Id must be 1 to " + MAX_TENANT_ID_LENGTH + " letters, digits, '.', '_' or '-'");
+        }
+        if (tenantId != null && !registry.exists(tenantId)) {
+            throw ValidationException.forField(TENANT_ID_HEADER, "Unknown tenant '" + tenantId + "'");
+        }
+        TenantContext.set(tenantId);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        TenantContext.clear();
+    }
+
+    static boolean isValid(String tenantId) {
+        if (tenantId.isEmpty() || tenantId.length() > MAX_TENANT_ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < tenantId.length(); i++) {
+            char c = tenantId.charAt(i);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9'
+                    || c == '.' || c == '_' || c == '-')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
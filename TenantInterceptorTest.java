@@ -0,0 +1,70 @@
+package com.example.taskmanager.tenant;
+
+import com.example.taskmanager.exception.ValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantInterceptorTest {
+
+    private final TenantInterceptor interceptor = new TenantInterceptor(new TenantRegistry("team-a"));
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void preHandle_withHeader_shouldBindTenantUntilCompletion() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks");
+        request.addHeader(TenantInterceptor.TENANT_ID_HEADER, "team-a");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, null));
+        assertEquals("team-a", TenantContext.current());
+
+        interceptor.afterCompletion(request, response, null, null);
+        assertEquals(TenantContext.DEFAULT_TENANT, TenantContext.current());
+    }
+
+    @Test
+    void preHandle_withoutHeader_shouldUseDefaultTenant() {
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/tasks"),
+                new MockHttpServletResponse(), null));
+
+        assertEquals(TenantContext.DEFAULT_TENANT, TenantContext.current());
+    }
+
+    @Test
+    void preHandle_invalidHeader_shouldReject() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks");
+        request.addHeader(TenantInterceptor.TENANT_ID_HEADER, "../etc");
+
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> interceptor.preHandle(request, new MockHttpServletResponse(), null));
+
+        assertEquals(TenantInterceptor.TENANT_ID_HEADER, e.getField());
+    }
+
+    @Test
+    void preHandle_unknownTenant_shouldReject() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks");
+        request.addHeader(TenantInterceptor.TENANT_ID_HEADER, "team-b");
+
+        assertThrows(ValidationException.class,
+                () -> interceptor.preHandle(request, new MockHttpServletResponse(), null));
+        assertEquals(TenantContext.DEFAULT_TENANT, TenantContext.current());
+    }
+
+    @Test
+    void quota_shouldRejectBeyondMaxTasks() {
+        TenantQuotas quotas = new TenantQuotas(10);
+
+        assertDoesNotThrow(() -> quotas.checkTaskQuota("team-a", 8, 2));
+        assertThrows(com.example.taskmanager.exception.TenantQuotaExceededException.class,
+                () -> quotas.checkTaskQuota("team-a", 9, 2));
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.taskmanager.exception;
+
+/**
+ * Thrown when a tenant has used up its storage quota.
+ * Retrying does not help until the tenant deletes or completes and archives tasks.
+ */
+public class TenantQuotaExceededException extends RuntimeException {
+    public TenantQuotaExceededException(String message) {
+        super(message, null, false, false);
+    }
+}
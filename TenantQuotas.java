@@ -0,0 +1,32 @@
+package com.example.taskmanager.tenant;
+
+import com.example.taskmanager.exception.TenantQuotaExceededException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-tenant storage quota ({@code taskmanager.tenant.max-tasks}).
+ * Checked before creating tasks; concurrent creates may overshoot it by a few tasks.
+ */
+@Component
+public class TenantQuotas {
+
+    private final int maxTasks;
+
+    public TenantQuotas(@Value("${taskmanager.tenant.max-tasks:100000}") int maxTasks) {
+        this.maxTasks = maxTasks;
+    }
+
+    /**
+     * Check that a tenant has room for more tasks
+     * @param tenantId the tenant
+     * @param stored tasks the tenant currently stores
+     * @param adding tasks about to be created
+     */
+    public void checkTaskQuota(String tenantId, long stored, int adding) {
+        if (stored + adding > maxTasks) {
+            throw new TenantQuotaExceededException(
+                    "Tenant '" + tenantId + "' is limited to " + maxTasks + " tasks");
+        }
+    }
+}
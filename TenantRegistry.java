@@ -0,0 +1,33 @@
+package com.example.taskmanager.tenant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Tenants allowed to use the service ({@code taskmanager.tenant.ids}), besides the default tenant.
+ * Tenants are configured rather than created on first use, so a client cannot get a fresh
+ * task quota and rate limit by sending a new {@code X-Tenant-Id}.
+ */
+@Component
+public class TenantRegistry {
+
+    private final Set<String> tenantIds;
+
+    public TenantRegistry(@Value("${taskmanager.tenant.ids:}") String... tenantIds) {
+        for (String tenantId : tenantIds) {
+            if (!TenantInterceptor.isValid(tenantId)) {
+                throw new IllegalArgumentException("Invalid tenant id in taskmanager.tenant.ids: '" + tenantId + "'");
+            }
+        }
+        this.tenantIds = Set.of(tenantIds);
+    }
+
+    /**
+     * Check if a tenant may use the service
+     */
+    public boolean exists(String tenantId) {
+        return TenantContext.DEFAULT_TENANT.equals(tenantId) || tenantIds.contains(tenantId);
+    }
+}
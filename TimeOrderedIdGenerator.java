@@ -0,0 +1,53 @@
+package com.example.taskmanager.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time-ordered UUIDs in the version 7 layout: a 48-bit millisecond timestamp,
+ * a 12-bit sequence and 62 random bits.
+ * <p>
+ * State is thread-local, so generation never contends. Ids from one thread are
+ * strictly increasing; ids from different threads are ordered to the millisecond,
+ * and the random bits keep them unique. The string form sorts in the same order.
+ */
+public class TimeOrderedIdGenerator implements TaskIdGenerator {
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final int MAX_SEQUENCE = 0xFFF;
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    @Override
+    public String nextId() {
+        return nextUuid().toString();
+    }
+
+    /**
+     * Generate the next id in its binary form
+     */
+    public UUID nextUuid() {
+        State state = STATE.get();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now = System.currentTimeMillis();
+        if (now > state.lastMillis) {
+            state.lastMillis = now;
+            // Start in the lower half so a burst within one millisecond has room to count up
+            state.sequence = random.nextInt(MAX_SEQUENCE / 2);
+        } else if (++state.sequence > MAX_SEQUENCE) {
+            // Sequence exhausted (or clock went backwards): borrow from the next millisecond
+            state.lastMillis++;
+            state.sequence = 0;
+        }
+
+        long msb = (state.lastMillis << 16) | VERSION | state.sequence;
+        long lsb = VARIANT | (random.nextLong() >>> 2);
+        return new UUID(msb, lsb);
+    }
+
+    private static final class State {
+        long lastMillis;
+        int sequence;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.taskmanager.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, implemented as a generic cell rate algorithm (GCRA).
+ * <p>
+ * The whole state is one "theoretical arrival time" in an {@link AtomicLong}:
+ * acquiring {@code n} tokens pushes it forward by {@code n} emission intervals, and a
+ * request is admitted while it stays within {@code burst} intervals of now. This behaves
+ * exactly like a bucket of {@code burst} tokens refilled at {@code ratePerSecond}.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int burst;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.burst = burst;
+        this.burstNanos = intervalNanos * burst;
+    }
+
+    /**
+     * Try to take tokens
+     * @param cost tokens to take; capped at the burst size so large requests remain possible
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return 0 if admitted, otherwise nanoseconds until the request would be admitted
+     */
+    public long tryAcquire(int cost, long nowNanos) {
+        long increment = intervalNanos * Math.min(Math.max(cost, 1), burst);
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = (tat == Long.MIN_VALUE || tat - nowNanos < 0 ? nowNanos : tat) + increment;
+            long ahead = next - nowNanos;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Give back tokens taken by a successful {@link #tryAcquire}, e.g. when a later limit
+     * rejects the same request; only call it after such an acquire
+     */
+    public void release(int cost) {
+        theoreticalArrival.addAndGet(-intervalNanos * Math.min(Math.max(cost, 1), burst));
+    }
+
+    /**
+     * @return true if the bucket is full again, i.e. indistinguishable from a new one
+     */
+    public boolean isIdle(long nowNanos) {
+        long tat = theoreticalArrival.get();
+        return tat == Long.MIN_VALUE || tat - nowNanos <= 0;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.taskmanager.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_shouldAdmitBurstThenReject() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(1, 0));
+        }
+        long wait = bucket.tryAcquire(1, 0);
+
+        assertEquals(SECOND / 10, wait);
+    }
+
+    @Test
+    void tryAcquire_shouldRefillAtRate() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire(1, 0);
+        }
+
+        assertEquals(0, bucket.tryAcquire(1, SECOND / 10));
+        assertTrue(bucket.tryAcquire(1, SECOND / 10) > 0);
+    }
+
+    @Test
+    void tryAcquire_shouldChargeCost() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+
+        assertEquals(0, bucket.tryAcquire(4, 0));
+        assertTrue(bucket.tryAcquire(2, 0) > 0);
+        assertEquals(0, bucket.tryAcquire(1, 0));
+    }
+
+    @Test
+    void release_shouldReturnTokens() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        assertEquals(0, bucket.tryAcquire(5, 0));
+
+        bucket.release(2);
+
+        assertEquals(0, bucket.tryAcquire(2, 0));
+        assertTrue(bucket.tryAcquire(1, 0) > 0);
+    }
+
+    @Test
+    void tryAcquire_costAboveBurst_shouldStillBeAdmittedOnFullBucket() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+
+        assertEquals(0, bucket.tryAcquire(50, 0));
+        assertTrue(bucket.tryAcquire(1, 0) > 0);
+    }
+
+    @Test
+    void isIdle_shouldBeTrueOnceFullyRefilled() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        assertTrue(bucket.isIdle(0));
+
+        bucket.tryAcquire(3, 0);
+
+        assertFalse(bucket.isIdle(SECOND / 10));
+        assertTrue(bucket.isIdle(3 * SECOND / 10));
+    }
+
+    @Test
+    void tryAcquire_concurrent_shouldNeverOverAdmit() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1, 1000);
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 5000; i++) {
+            executor.execute(() -> {
+                if (bucket.tryAcquire(1, 0) == 0) {
+                    admitted.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1000, admitted.get());
+    }
+}
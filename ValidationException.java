@@ -1,11 +1,38 @@
 package com.example.taskmanager.exception;
 
+/**
+ * Thrown when an incoming task payload is rejected.
+ * Like {@link TaskNotFoundException} this is a client error, so no stack trace is captured.
+ */
 public class ValidationException extends RuntimeException {
+
+    private final String field;
+
     public ValidationException(String message) {
-        super(message);
+        this(message, (String) null);
+    }
+
+    private ValidationException(String message, String field) {
+        super(message, null, false, false);
+        this.field = field;
     }
 
     public ValidationException(String message, Throwable cause) {
         super(message, cause);
+        this.field = null;
+    }
+
+    /**
+     * Create an exception for a rejected field
+     */
+    public static ValidationException forField(String field, String message) {
+        return new ValidationException(message, field);
+    }
+
+    /**
+     * @return the offending field, or null if the error is not tied to one
+     */
+    public String getField() {
+        return field;
     }
 }
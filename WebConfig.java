@@ -0,0 +1,39 @@
+package com.example.taskmanager.config;
+
+import com.example.taskmanager.ratelimit.AdmissionController;
+import com.example.taskmanager.replication.ReadOnlyReplicaInterceptor;
+import com.example.taskmanager.tenant.TenantInterceptor;
+import com.example.taskmanager.tenant.TenantRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC interceptors in front of the task endpoints.
+ */
+@Configuration(proxyBeanMethods = false)
+public class WebConfig implements WebMvcConfigurer {
+
+    private final TenantRegistry tenantRegistry;
+    private final ObjectProvider<AdmissionController> admissionController;
+    private final ObjectProvider<ReadOnlyReplicaInterceptor> readOnlyReplicaInterceptor;
+
+    public WebConfig(TenantRegistry tenantRegistry,
+                     ObjectProvider<AdmissionController> admissionController,
+                     ObjectProvider<ReadOnlyReplicaInterceptor> readOnlyReplicaInterceptor) {
+        this.tenantRegistry = tenantRegistry;
+        this.admissionController = admissionController;
+        this.readOnlyReplicaInterceptor = readOnlyReplicaInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new TenantInterceptor(tenantRegistry)).addPathPatterns("/tasks", "/tasks/**");
+        // Admission runs next (it charges the tenant) so rejected requests cost as little as possible
+        admissionController.ifAvailable(interceptor ->
+                registry.addInterceptor(interceptor).addPathPatterns("/tasks", "/tasks/**"));
+        readOnlyReplicaInterceptor.ifAvailable(interceptor ->
+                registry.addInterceptor(interceptor).addPathPatterns("/tasks", "/tasks/**"));
+    }
+}
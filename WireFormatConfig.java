@@ -0,0 +1,36 @@
+package com.example.taskmanager.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary wire formats for the task endpoints.
+ * Clients that send {@code Accept: application/cbor} or {@code application/x-jackson-smile}
+ * (and the matching {@code Content-Type} on request bodies) get a compact binary encoding;
+ * everyone else keeps getting JSON.
+ */
+@Configuration(proxyBeanMethods = false)
+public class WireFormatConfig {
+
+    /**
+     * CBOR converter built from the Boot-managed builder, so it shares the
+     * {@code spring.jackson.*} settings and modules of the JSON converter.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Smile converter built from the Boot-managed builder.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
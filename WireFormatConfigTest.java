@@ -0,0 +1,77 @@
+package com.example.taskmanager.config;
+
+import com.example.taskmanager.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WireFormatConfigTest {
+
+    private final WireFormatConfig config = new WireFormatConfig();
+    private Task testTask;
+
+    @BeforeEach
+    void setUp() {
+        testTask = new Task();
+        testTask.setTitle("Test Task");
+        testTask.setDescription("Test Description");
+        testTask.setStatus(Task.Status.IN_PROGRESS);
+        testTask.setDueDate(LocalDate.of(2030, 1, 15));
+    }
+
+    @Test
+    void cbor_roundTrip_shouldPreserveTask() throws IOException {
+        Task result = roundTrip(config.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()),
+                MediaType.APPLICATION_CBOR);
+
+        assertTaskEquals(testTask, result);
+    }
+
+    @Test
+    void smile_roundTrip_shouldPreserveTask() throws IOException {
+        Task result = roundTrip(config.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()),
+                new MediaType("application", "x-jackson-smile"));
+
+        assertTaskEquals(testTask, result);
+    }
+
+    @Test
+    void cbor_shouldBeSmallerThanJson() throws IOException {
+        int jsonSize = write(new MappingJackson2HttpMessageConverter(new Jackson2ObjectMapperBuilder().build()),
+                MediaType.APPLICATION_JSON).length;
+        int cborSize = write(config.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()),
+                MediaType.APPLICATION_CBOR).length;
+
+        assertTrue(cborSize < jsonSize);
+    }
+
+    private Task roundTrip(AbstractJackson2HttpMessageConverter converter, MediaType mediaType) throws IOException {
+        MockHttpInputMessage input = new MockHttpInputMessage(write(converter, mediaType));
+        input.getHeaders().setContentType(mediaType);
+        return (Task) converter.read(Task.class, input);
+    }
+
+    private byte[] write(AbstractJackson2HttpMessageConverter converter, MediaType mediaType) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(testTask, mediaType, output);
+        return output.getBodyAsBytes();
+    }
+
+    private void assertTaskEquals(Task expected, Task actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getDueDate(), actual.getDueDate());
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.taskmanager.exception;
+
+/**
+ * Thrown when the write-behind queue is full and a write cannot be accepted in time.
+ * The write has not been applied; clients should retry later.
+ */
+public class WriteBackpressureException extends RuntimeException {
+    public WriteBackpressureException(String message) {
+        super(message, null, false, false);
+    }
+}
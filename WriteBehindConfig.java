@@ -0,0 +1,42 @@
+package com.example.taskmanager.config;
+
+import com.example.taskmanager.persistence.FileTaskStore;
+import com.example.taskmanager.persistence.TaskStore;
+import com.example.taskmanager.persistence.WriteBehindWriter;
+import com.example.taskmanager.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Optional write-behind persistence of the task repository ({@code taskmanager.write-behind.*}).
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "taskmanager.write-behind", name = "enabled", havingValue = "true")
+public class WriteBehindConfig {
+
+    @Bean(destroyMethod = "close")
+    public FileTaskStore taskStore(ObjectMapper mapper,
+                                   @Value("${taskmanager.write-behind.path:data/task-store.log}") String path) {
+        return new FileTaskStore(mapper, Paths.get(path));
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public WriteBehindWriter writeBehindWriter(
+            TaskRepository repository,
+            TaskStore taskStore,
+            MeterRegistry registry,
+            @Value("${taskmanager.write-behind.queue-capacity:10000}") int queueCapacity,
+            @Value("${taskmanager.write-behind.flush-size:500}") int flushSize,
+            @Value("${taskmanager.write-behind.flush-latency:50ms}") Duration flushLatency,
+            @Value("${taskmanager.write-behind.enqueue-timeout:100ms}") Duration enqueueTimeout) {
+        return new WriteBehindWriter(repository, taskStore, registry,
+                queueCapacity, flushSize, flushLatency, enqueueTimeout);
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.taskmanager.persistence;
+
+import com.example.taskmanager.exception.WriteBackpressureException;
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.repository.TaskMutation;
+import com.example.taskmanager.repository.TaskMutationListener;
+import com.example.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind pipeline from the in-memory repository to a {@link TaskStore}.
+ * <p>
+ * Request threads only enqueue a snapshot of each mutation on a bounded queue; a single
+ * writer thread drains it in batches of up to {@code flushSize}, waiting at most
+ * {@code flushLatency} for a batch to fill. Before a write enters the repository's write lock
+ * it reserves queue space for all of its mutations, waiting up to {@code enqueueTimeout} and
+ * otherwise being rejected with {@link WriteBackpressureException} before anything is applied;
+ * inside the lock the enqueue never fails, so a bulk write is never left half done. Only a bulk
+ * write larger than the whole queue waits for the writer thread under the lock.
+ * Failed flushes are retried, never dropped.
+ */
+public class WriteBehindWriter implements TaskMutationListener, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindWriter.class);
+    private static final long RETRY_BACKOFF_MILLIS = 1000;
+
+    private final TaskRepository repository;
+    private final TaskStore store;
+    private final BlockingQueue<TaskMutation> queue;
+    private final int queueCapacity;
+    // Queue slots not yet reserved by a write; released once the writer takes mutations off the queue
+    private final Semaphore space;
+    private final ThreadLocal<int[]> reserved = new ThreadLocal<>();
+    private final int flushSize;
+    private final long flushLatencyNanos;
+    private final long enqueueTimeoutNanos;
+
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter rejected;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public WriteBehindWriter(TaskRepository repository, TaskStore store, MeterRegistry registry,
+                             int queueCapacity, int flushSize, Duration flushLatency, Duration enqueueTimeout) {
+        this.repository = repository;
+        this.store = store;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.queueCapacity = queueCapacity;
+        this.space = new Semaphore(queueCapacity, true);
+        this.flushSize = flushSize;
+        this.flushLatencyNanos = flushLatency.toNanos();
+        this.enqueueTimeoutNanos = enqueueTimeout.toNanos();
+
+        Gauge.builder("taskmanager.write_behind.queue.depth", queue, BlockingQueue::size)
+                .description("Mutations waiting to be written to the backing store")
+                .register(registry);
+        this.flushTimer = Timer.builder("taskmanager.write_behind.flush")
+                .description("Latency of writing one batch to the backing store")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.batchSizes = DistributionSummary.builder("taskmanager.write_behind.batch.size")
+                .description("Mutations per flushed batch")
+                .register(registry);
+        this.rejected = Counter.builder("taskmanager.write_behind.rejected")
+                .description("Writes rejected because the queue was full")
+                .register(registry);
+    }
+
+    /**
+     * Load the backing store into the repository, then start capturing mutations
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        int loaded = 0;
+        for (Task task : store.load()) {
+            repository.save(task);
+            loaded++;
+        }
+        log.info("Loaded {} tasks from backing store", loaded);
+
+        running = true;
+        repository.addListener(this);
+        writer = new Thread(this::runWriter, "task-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stop accepting work and flush everything still queued
+     */
+    public synchronized void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writer.join();
+    }
+
+    @Override
+    public void beforeWrite(int mutations) {
+        int permits = Math.min(mutations, queueCapacity);
+        try {
+            if (!space.tryAcquire(permits, enqueueTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new WriteBackpressureException("Write-behind queue is full; retry later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WriteBackpressureException("Interrupted while waiting for write-behind queue");
+        }
+        reserved.set(new int[] {permits});
+    }
+
+    @Override
+    public void onMutation(TaskMutation mutation) {
+        // Called under the repository lock, on the thread that reserved space in beforeWrite
+        int[] permits = reserved.get();
+        if (permits != null && permits[0] > 0) {
+            permits[0]--;
+        } else if (permits != null) {
+            // A bulk write larger than the queue: stopping now would leave it half applied
+            space.acquireUninterruptibly();
+        } else if (!space.tryAcquire()) {
+            rejected.increment();
+            throw new WriteBackpressureException("Write-behind queue is full; retry later");
+        }
+        queue.add(mutation);
+    }
+
+    @Override
+    public void afterWrite() {
+        int[] permits = reserved.get();
+        if (permits != null) {
+            reserved.remove();
+            space.release(permits[0]);
+        }
+    }
+
+    /**
+     * Runs before listeners that must only see accepted writes (e.g. replication)
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    /**
+     * Get the number of mutations waiting to be flushed
+     */
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    private void runWriter() {
+        List<TaskMutation> batch = new ArrayList<>(flushSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                fillBatch(batch);
+            } catch (InterruptedException e) {
+                // Only stop() ends the loop; keep draining
+                continue;
+            }
+            if (!batch.isEmpty()) {
+                space.release(batch.size());
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void fillBatch(List<TaskMutation> batch) throws InterruptedException {
+        TaskMutation first = queue.poll(flushLatencyNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushLatencyNanos;
+        while (batch.size() < flushSize) {
+            if (queue.drainTo(batch, flushSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !running) {
+                return;
+            }
+            TaskMutation next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<TaskMutation> batch) {
+        while (true) {
+            long start = System.nanoTime();
+            try {
+                store.write(batch);
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                batchSizes.record(batch.size());
+                return;
+            } catch (IOException e) {
+                log.error("Failed to flush {} mutations to backing store; retrying", batch.size(), e);
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MILLIS);
+                } catch (InterruptedException ignored) {
+                    // Retry regardless; dropping the batch would lose acknowledged writes
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.taskmanager.persistence;
+
+import com.example.taskmanager.exception.WriteBackpressureException;
+import com.example.taskmanager.model.Task;
+import com.example.taskmanager.repository.TaskMutation;
+import com.example.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindWriterTest {
+
+    private TaskRepository repository;
+    private SimpleMeterRegistry registry;
+    private RecordingStore store;
+    private WriteBehindWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        repository = new TaskRepository();
+        registry = new SimpleMeterRegistry();
+        store = new RecordingStore();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        store.release.countDown();
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void save_shouldApplyImmediatelyAndFlushInBatches() throws Exception {
+        store.release.countDown();
+        writer = new WriteBehindWriter(repository, store, registry, 100, 10, Duration.ofMillis(20),
+                Duration.ofMillis(10));
+        writer.start();
+
+        for (int i = 0; i < 25; i++) {
+            Task saved = repository.save(new Task("Task " + i, LocalDate.now().plusDays(1)));
+            assertTrue(repository.existsById(saved.getId()));
+        }
+        writer.stop();
+
+        assertEquals(25, store.written().size());
+        assertTrue(store.batches.stream().allMatch(batch -> batch.size() <= 10));
+        assertEquals(1L, store.written().get(0).getSequence());
+        assertTrue(registry.get("taskmanager.write_behind.flush").timer().count() >= 3);
+    }
+
+    @Test
+    void start_shouldLoadStoreIntoRepository() throws Exception {
+        Task existing = new Task("Existing", LocalDate.now().plusDays(1));
+        store.loaded.add(existing);
+        store.release.countDown();
+        writer = new WriteBehindWriter(repository, store, registry, 100, 10, Duration.ofMillis(20),
+                Duration.ofMillis(10));
+
+        writer.start();
+
+        assertTrue(repository.existsById(existing.getId()));
+        assertTrue(store.written().isEmpty());
+    }
+
+    @Test
+    void save_queueFull_shouldRejectWithoutApplying() throws Exception {
+        writer = new WriteBehindWriter(repository, store, registry, 1, 1, Duration.ofMillis(1),
+                Duration.ofMillis(10));
+        writer.start();
+
+        // The writer takes the first mutation and blocks in the store; the second fills the queue
+        repository.save(new Task("First", LocalDate.now().plusDays(1)));
+        assertTrue(store.writing.await(1, TimeUnit.SECONDS));
+        repository.save(new Task("Second", LocalDate.now().plusDays(1)));
+        Task rejected = new Task("Third", LocalDate.now().plusDays(1));
+
+        assertThrows(WriteBackpressureException.class, () -> repository.save(rejected));
+
+        assertFalse(repository.existsById(rejected.getId()));
+        assertEquals(1.0, registry.get("taskmanager.write_behind.rejected").counter().count());
+        assertEquals(1, writer.queueDepth());
+    }
+
+    @Test
+    void save_waitingForQueueSpace_shouldNotBlockOtherRepositoryCalls() throws Exception {
+        writer = new WriteBehindWriter(repository, store, registry, 1, 1, Duration.ofMillis(1),
+                Duration.ofSeconds(5));
+        writer.start();
+        repository.save(new Task("First", LocalDate.now().plusDays(1)));
+        assertTrue(store.writing.await(1, TimeUnit.SECONDS));
+        repository.save(new Task("Second", LocalDate.now().plusDays(1)));
+
+        Task waiting = new Task("Third", LocalDate.now().plusDays(1));
+        Thread blocked = new Thread(() -> repository.save(waiting));
+        blocked.start();
+        while (blocked.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(1);
+        }
+
+        assertTimeoutPreemptively(Duration.ofMillis(500), () -> {
+            repository.snapshot();
+            repository.lastSequence();
+        });
+
+        store.release.countDown();
+        blocked.join(5000);
+        assertTrue(repository.existsById(waiting.getId()));
+    }
+
+    @Test
+    void replaceAll_notEnoughQueueSpace_shouldRejectWithoutApplyingAnything() throws Exception {
+        writer = new WriteBehindWriter(repository, store, registry, 3, 1, Duration.ofMillis(1),
+                Duration.ofMillis(10));
+        writer.start();
+        Task first = repository.save(new Task("First", LocalDate.now().plusDays(1)));
+        assertTrue(store.writing.await(1, TimeUnit.SECONDS));
+        Task second = repository.save(new Task("Second", LocalDate.now().plusDays(1)));
+        List<Task> replacement = List.of(new Task("A", LocalDate.now().plusDays(1)),
+                new Task("B", LocalDate.now().plusDays(1)), new Task("C", LocalDate.now().plusDays(1)));
+
+        assertThrows(WriteBackpressureException.class, () -> repository.replaceAll(replacement));
+
+        assertTrue(repository.existsById(first.getId()));
+        assertTrue(repository.existsById(second.getId()));
+        assertFalse(repository.existsById(replacement.get(0).getId()));
+        assertEquals(1, writer.queueDepth());
+    }
+
+    @Test
+    void replaceAll_largerThanQueue_shouldApplyEveryMutation() throws Exception {
+        writer = new WriteBehindWriter(repository, store, registry, 2, 2, Duration.ofMillis(1),
+                Duration.ofMillis(100));
+        store.release.countDown();
+        writer.start();
+        List<Task> replacement = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            replacement.add(new Task("Task " + i, LocalDate.now().plusDays(1)));
+        }
+
+        repository.replaceAll(replacement);
+        writer.stop();
+
+        assertEquals(10, repository.findAll().size());
+        assertEquals(10, store.batches.stream().mapToInt(List::size).sum());
+    }
+
+    private static class RecordingStore implements TaskStore {
+        final List<List<TaskMutation>> batches = new CopyOnWriteArrayList<>();
+        final List<Task> loaded = new ArrayList<>();
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void write(List<TaskMutation> batch) {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batches.add(new ArrayList<>(batch));
+        }
+
+        @Override
+        public Collection<Task> load() {
+            return loaded;
+        }
+
+        List<TaskMutation> written() {
+            List<TaskMutation> all = new ArrayList<>();
+            batches.forEach(all::addAll);
+            return all;
+        }
+    }
+}